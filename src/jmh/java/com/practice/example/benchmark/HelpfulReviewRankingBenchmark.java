@@ -0,0 +1,87 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.service.HelpfulReviewRanking;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Топ-10 полезных отзывов организации с {@code reviews} отзывами: чтение и обновление
+ * поддерживаемой доски против сортировки всех отзывов организации на каждый запрос
+ * ({@code sortOnRequest}; счетчики уже в памяти, стоимость чтения из БД не учтена).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HelpfulReviewRankingBenchmark {
+
+    private static final int TOP = 10;
+
+    private static final double DECAY_PER_SECOND = Math.log(2) / (30 * 86_400);
+
+    @Param({"1000", "100000"})
+    public int reviews;
+
+    private final UUID organizationId = UUID.randomUUID();
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private HelpfulReviewRanking ranking;
+
+    private ReviewHelpfulness[] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ranking = new HelpfulReviewRanking(null, new TransactionTemplate(), 100, 30, false);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        stored = new ReviewHelpfulness[reviews];
+        for (int i = 0; i < reviews; i++) {
+            stored[i] = new ReviewHelpfulness(UUID.randomUUID(), organizationId, start.plusSeconds(i * 60L),
+                    1 + random.nextInt(200), random.nextInt(50));
+            ranking.updateAfterCommit(stored[i]);
+        }
+    }
+
+    @Benchmark
+    public List<HelpfulReview> readTop() {
+        return ranking.getMostHelpful(organizationId, TOP);
+    }
+
+    // Лайк случайному отзыву: пересчет ключа и, если отзыв на доске или пробивается на нее, O(log K)
+    @Benchmark
+    public void likeRandomReview() {
+        int i = random.nextInt(reviews);
+        stored[i] = stored[i].withPending(1, 0);
+        ranking.updateAfterCommit(stored[i]);
+    }
+
+    @Benchmark
+    public ReviewHelpfulness[] sortOnRequest() {
+        ReviewHelpfulness[] all = stored.clone();
+        double[] keys = new double[all.length];
+        Integer[] order = new Integer[all.length];
+        for (int i = 0; i < all.length; i++) {
+            double wilson = HelpfulReviewRanking.wilsonScore(all[i].getLikeCount(), all[i].getDislikeCount());
+            keys[i] = Math.log(wilson) + DECAY_PER_SECOND * all[i].getPublishedAt().getEpochSecond();
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> keys[i]).reversed());
+        ReviewHelpfulness[] top = new ReviewHelpfulness[TOP];
+        for (int i = 0; i < TOP; i++) {
+            top[i] = all[order[i]];
+        }
+        return top;
+    }
+}
@@ -0,0 +1,76 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewReactions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Прежняя сериализация событий из ReviewKafkaProducer (StringBuilder + цепочка replace),
+ * оставлена только как точка отсчета для бенчмарков.
+ */
+final class LegacyReviewEventJson {
+
+    private LegacyReviewEventJson() {
+    }
+
+    static byte[] serialize(ReviewDetails review) {
+        return serializeToJson(review).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String serializeToJson(ReviewDetails review) {
+        StringBuilder sb = new StringBuilder("{");
+
+        sb.append("\"id\":\"").append(review.getId()).append("\",");
+        sb.append("\"authorId\":\"").append(review.getAuthorId()).append("\",");
+        sb.append("\"organizationId\":\"").append(review.getOrganizationId()).append("\",");
+        sb.append("\"title\":").append(escapeJson(review.getTitle())).append(",");
+        sb.append("\"content\":").append(escapeJson(review.getContent())).append(",");
+        sb.append("\"publishedAt\":\"").append(review.getPublishedAt()).append("\",");
+
+        sb.append("\"rating\":\"").append(review.getRating().toString()).append("\",");
+
+        sb.append("\"reactions\":").append(serializeReactions(review.getReactions(), review.getEmojiReactions())).append(",");
+
+        sb.append("\"parentReviewId\":");
+        sb.append(review.getParentReviewId()
+                .map(uuid -> "\"" + uuid + "\"")
+                .orElse("null"));
+
+        sb.append("}");
+
+        return sb.toString();
+    }
+
+    private static String serializeReactions(Map<ReviewReactions.Type, Integer> reactions, EmojiReactionCounts emoji) {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<ReviewReactions.Type, Integer> entry : reactions.entrySet()) {
+            if (entry.getKey() == ReviewReactions.Type.EMOJI) {
+                continue;
+            }
+            if (!first) sb.append(",");
+            sb.append("\"").append(entry.getKey().name()).append("\":").append(entry.getValue());
+            first = false;
+        }
+        for (int i = 0; i < emoji.size(); i++) {
+            if (!first) sb.append(",");
+            sb.append(escapeJson(new String(Character.toChars(emoji.codePointAt(i)))))
+                    .append(":").append(emoji.countAt(i));
+            first = false;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    static String escapeJson(String raw) {
+        if (raw == null) return "null";
+        return "\"" + raw.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t") + "\"";
+    }
+}
@@ -0,0 +1,128 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReviewDetails#addReaction} на одном общем экземпляре, как у закэшированного отзыва:
+ * 1, 2, 4 потока и по одному на ядро ({@code addReactionAllCores}). {@code legacy*} — прежний вариант
+ * с {@code synchronized} и {@code EnumMap<Type, Integer>} для сравнения масштабирования.
+ * {@code readWrite} — писатели вперемешку с читателями счетчиков.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewDetailsContentionBenchmark {
+
+    private ReviewDetails details;
+
+    private LegacyCounters legacy;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        details = ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Отзыв")
+                .content("Текст")
+                .parentReviewId(Optional.empty())
+                .publishedAt(Instant.now())
+                .rating(new ReviewRating(5))
+                .emojiReactions(EmojiReactionCounts.empty())
+                .build();
+        legacy = new LegacyCounters();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addReactionSingleThread() {
+        details.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void addReactionTwoThreads() {
+        details.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addReactionContended() {
+        details.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void addReactionAllCores() {
+        details.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void legacyAddReactionSingleThread() {
+        legacy.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void legacyAddReactionContended() {
+        legacy.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void legacyAddReactionAllCores() {
+        legacy.addReaction(ReviewReactions.Type.LIKE);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public void writer() {
+        details.addReaction(ReviewReactions.Type.DISLIKE);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public int reader() {
+        return details.getReactionCount(ReviewReactions.Type.DISLIKE);
+    }
+
+    @Benchmark
+    @Group("readWriteSnapshot")
+    @GroupThreads(2)
+    public void snapshotWriter() {
+        details.addReaction(ReviewReactions.Type.DISLIKE);
+    }
+
+    @Benchmark
+    @Group("readWriteSnapshot")
+    @GroupThreads(2)
+    public Map<ReviewReactions.Type, Integer> snapshotReader() {
+        return details.getReactions();
+    }
+
+    // Счетчики в том виде, в каком они были в ReviewDetails до перехода на AtomicLongArray
+    private static final class LegacyCounters {
+        private final Map<ReviewReactions.Type, Integer> reactions = new EnumMap<>(ReviewReactions.Type.class);
+
+        synchronized void addReaction(ReviewReactions.Type reactionType) {
+            reactions.merge(reactionType, 1, Integer::sum);
+        }
+    }
+}
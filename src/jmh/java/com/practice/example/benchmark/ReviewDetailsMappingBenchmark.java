@@ -0,0 +1,87 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.EmojiReactionRow;
+import com.practice.example.service.ReviewDetailsProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка {@link ReviewDetails} из сущности: на каждый отзыв в выдаче, выгрузке и кэше.
+ * {@code groupEmojiReactions} — разбор строк эмодзи пачки выгрузки ({@value #BATCH_SIZE} отзывов).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewDetailsMappingBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int[] EMOJI = {0x2764, 0x1F44D, 0x1F525, 0x1F602, 0x1F62E};
+
+    private ReviewDetailsProvider provider;
+
+    private Review review;
+
+    private Review reply;
+
+    private EmojiReactionCounts emojiReactions;
+
+    private List<EmojiReactionRow> batchRows;
+
+    @Setup
+    public void setUp() {
+        provider = new ReviewDetailsProvider();
+        review = review(null);
+        reply = review(review);
+        emojiReactions = EmojiReactionCounts.of(new int[]{0x2764, 0x1F44D}, new int[]{3, 12});
+        batchRows = new ArrayList<>(BATCH_SIZE * EMOJI.length);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            UUID reviewId = new UUID(0, i);
+            for (int codePoint : EMOJI) {
+                batchRows.add(new EmojiReactionRow(reviewId, codePoint, i + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public ReviewDetails getDetailsTo() {
+        return provider.getDetailsTo(review, emojiReactions);
+    }
+
+    @Benchmark
+    public ReviewDetails getDetailsToReply() {
+        return provider.getDetailsTo(reply, EmojiReactionCounts.empty());
+    }
+
+    @Benchmark
+    public Map<UUID, EmojiReactionCounts> groupEmojiReactions() {
+        return provider.groupEmojiReactionCounts(batchRows);
+    }
+
+    private static Review review(Review parent) {
+        return Review.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Отличный сервис")
+                .content("Хорошее место, вкусный кофе. Вернусь ещё.")
+                .parentReview(parent)
+                .publishedAt(Instant.parse("2024-05-01T12:34:56.789123Z"))
+                .ratingValue(4)
+                .likeCount(42)
+                .dislikeCount(3)
+                .build();
+    }
+}
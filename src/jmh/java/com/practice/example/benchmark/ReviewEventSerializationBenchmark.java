@@ -0,0 +1,96 @@
+package com.practice.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.infra.kafka.ReviewEventBinaryCodec;
+import com.practice.example.infra.kafka.ReviewEventJsonWriter;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация события о публикации отзыва: прежний StringBuilder-вариант, однопроходный
+ * {@link ReviewEventJsonWriter} и бинарный {@link ReviewEventBinaryCodec}, а также разбор
+ * обоих форматов на стороне потребителя. Аллокации смотреть с {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewEventSerializationBenchmark {
+
+    @Param({"short", "long"})
+    public String contentSize;
+
+    private ReviewDetails details;
+
+    private ReviewEventJsonWriter writer;
+
+    private ReviewEventBinaryCodec binaryCodec;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] jsonPayload;
+
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        String content = contentSize.equals("short")
+                ? "Хорошее место, \"вкусный\" кофе.\nВернусь ещё."
+                : ("Очень подробный отзыв с переносами строк\n\tи \"кавычками\", а также эмодзи 👍. ").repeat(40);
+        details = ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Отличный сервис \\ рекомендую")
+                .content(content)
+                .parentReviewId(Optional.of(UUID.randomUUID()))
+                .publishedAt(Instant.parse("2024-05-01T12:34:56.789123Z"))
+                .rating(new ReviewRating(4))
+                .emojiReactions(EmojiReactionCounts.of(new int[]{0x2764, 0x1F44D}, new int[]{3, 12}))
+                .build();
+        details.addReaction(ReviewReactions.Type.LIKE, 42);
+        details.addReaction(ReviewReactions.Type.DISLIKE, 3);
+        writer = new ReviewEventJsonWriter();
+        binaryCodec = new ReviewEventBinaryCodec();
+        objectMapper = new ObjectMapper();
+        jsonPayload = writer.write(details);
+        binaryPayload = binaryCodec.encode(details);
+    }
+
+    @Benchmark
+    public byte[] legacyStringBuilder() {
+        return LegacyReviewEventJson.serialize(details);
+    }
+
+    @Benchmark
+    public byte[] singlePassWriter() {
+        return writer.write(details);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binaryCodec.encode(details);
+    }
+
+    @Benchmark
+    public JsonNode jsonDecode() throws IOException {
+        return objectMapper.readTree(jsonPayload);
+    }
+
+    @Benchmark
+    public ReviewDetails binaryDecode() {
+        return binaryCodec.decode(binaryPayload);
+    }
+}
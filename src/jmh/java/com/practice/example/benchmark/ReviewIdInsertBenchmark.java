@@ -0,0 +1,95 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.infra.id.RandomUuidGenerator;
+import com.practice.example.infra.id.ReviewIdGenerator;
+import com.practice.example.infra.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность вставки отзывов во встроенную H2 с первичным ключом UUIDv4 и UUIDv7.
+ * Одна операция — JDBC-батч из {@link #BATCH_SIZE} строк в одной транзакции, как при массовой
+ * загрузке. Таблица растет между итерациями: случайные ключи раскидывают вставки и расщепления
+ * страниц по всему B-дереву, упорядоченные по времени дописываются в его правый край.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CONTENT = "Хорошее место, вкусный кофе. Вернусь ещё. ".repeat(4);
+
+    @Param({"random", "v7"})
+    public String generator;
+
+    private ReviewIdGenerator idGenerator;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    private final UUID authorId = UUID.randomUUID();
+
+    private final UUID organizationId = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        idGenerator = generator.equals("v7") ? new UuidV7Generator() : new RandomUuidGenerator();
+        connection = DriverManager.getConnection("jdbc:h2:mem:ids_" + generator + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table reviews (
+                        id uuid primary key,
+                        author_id uuid not null,
+                        organization_id uuid not null,
+                        title varchar(255),
+                        content varchar(4000),
+                        published_at timestamp(6) not null,
+                        rating integer not null
+                    )""");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into reviews "
+                + "(id, author_id, organization_id, title, content, published_at, rating) values (?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idGenerator.next());
+            insert.setObject(2, authorId);
+            insert.setObject(3, organizationId);
+            insert.setString(4, "Отзыв");
+            insert.setString(5, CONTENT);
+            insert.setTimestamp(6, now);
+            insert.setInt(7, 5);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
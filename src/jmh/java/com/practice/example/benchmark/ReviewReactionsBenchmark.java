@@ -0,0 +1,27 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.model.ReviewReactions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор типа реакции из тела POST /reviews/{id}/reactions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewReactionsBenchmark {
+
+    // ❤️ — с селектором варианта U+FE0F, как его отправляют клиенты
+    @Param({"LIKE", "dislike", "👍", "❤️"})
+    public String reaction;
+
+    @Benchmark
+    public ReviewReactions fromString() {
+        return ReviewReactions.fromString(reaction);
+    }
+}
@@ -0,0 +1,154 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.ReviewRepository;
+import com.practice.example.service.ReviewDetailsProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница выдачи из {@value #PAGE_SIZE} отзывов (половина — ответы) во встроенной H2 через голый
+ * Hibernate: управляемые сущности против JPQL-проекции в {@link ReviewView}. Время и аллокации
+ * нормированы на один отзыв. {@code *Details} — то же плюс сборка {@link ReviewDetails}, как при
+ * загрузке в кэш и выгрузке. {@code previewPage} — выдача с превью вместо полного текста;
+ * {@code contentLength} — длина текста отзыва (длинные хранятся сжатыми).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewReadProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final int ROWS = 2_000;
+
+    private static final String ENTITY_PAGE = "select r from Review r order by r.publishedAt desc, r.id desc";
+
+    private static final String VIEW_PAGE = ReviewRepository.SELECT_VIEW + " order by r.publishedAt desc, r.id desc";
+
+    private static final String PREVIEW_PAGE = ReviewRepository.SELECT_PREVIEW + " order by r.publishedAt desc, r.id desc";
+
+    @Param({"40", "4000"})
+    public int contentLength;
+
+    private SessionFactory sessionFactory;
+
+    private final ReviewDetailsProvider provider = new ReviewDetailsProvider();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Review.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:projection_" + contentLength + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "500")
+                .buildSessionFactory();
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        String sentence = "Хорошее место, вкусный кофе. Вернусь ещё. ";
+        String content = sentence.repeat(contentLength / sentence.length() + 1).substring(0, contentLength);
+        sessionFactory.inTransaction(session -> {
+            Review parent = null;
+            for (int i = 0; i < ROWS; i++) {
+                Review review = Review.builder()
+                        .id(UUID.randomUUID())
+                        .authorId(UUID.randomUUID())
+                        .organizationId(UUID.randomUUID())
+                        .title("Отличный сервис")
+                        .content(content)
+                        .parentReview(i % 2 == 1 ? parent : null)
+                        .publishedAt(start.plusSeconds(i))
+                        .ratingValue(4)
+                        .likeCount(i % 50)
+                        .dislikeCount(i % 7)
+                        .build();
+                session.persist(review);
+                parent = review;
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void entityPage(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            List<Review> page = session.createSelectionQuery(ENTITY_PAGE, Review.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            for (Review review : page) {
+                blackhole.consume(review.getParentReviewId());
+                blackhole.consume(review.getTitle());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void viewPage(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            List<ReviewView> page = session.createSelectionQuery(VIEW_PAGE, ReviewView.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            for (ReviewView review : page) {
+                blackhole.consume(review.getParentReviewId());
+                blackhole.consume(review.getTitle());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void previewPage(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            List<ReviewView> page = session.createSelectionQuery(PREVIEW_PAGE, ReviewView.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            for (ReviewView review : page) {
+                blackhole.consume(review.getParentReviewId());
+                blackhole.consume(review.getContent());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void entityDetails(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            for (Review review : session.createSelectionQuery(ENTITY_PAGE, Review.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()) {
+                blackhole.consume(provider.getDetailsTo(review, EmojiReactionCounts.empty()));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void viewDetails(Blackhole blackhole) {
+        sessionFactory.inTransaction(session -> {
+            for (ReviewView review : session.createSelectionQuery(VIEW_PAGE, ReviewView.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()) {
+                blackhole.consume(provider.getDetailsTo(review, EmojiReactionCounts.empty()));
+            }
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.infra.search.SearchHit;
+import com.practice.example.model.Review;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу из {@code docs} синтетических отзывов. Слова — «w&lt;ранг&gt;» с частотой, убывающей
+ * примерно как у естественного языка: {@code w2} встречается в большинстве отзывов, {@code w150} —
+ * в заметной доле, {@code w5000} — в единицах. Страница — {@value #PAGE_SIZE} попаданий.
+ * {@code indexOne} — запись отзыва после коммита; читатель обновляется отдельно по расписанию.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReviewSearchBenchmark {
+
+    private static final int PAGE_SIZE = 21;
+
+    private static final int VOCABULARY = 20_000;
+
+    private static final int ORGANIZATIONS = 500;
+
+    @Param({"200000"})
+    public int docs;
+
+    private ReviewSearchIndex index;
+
+    private UUID organizationId;
+
+    private SearchHit secondPageAfter;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private UUID[] organizations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Без БД: индекс наполняется напрямую, перестройка при старте не нужна
+        index = new ReviewSearchIndex(null, new TransactionTemplate(), "", false, 64);
+        organizations = new UUID[ORGANIZATIONS];
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            organizations[i] = UUID.randomUUID();
+        }
+        organizationId = organizations[0];
+        List<Review> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < docs; i++) {
+            batch.add(review());
+            if (batch.size() == 10_000) {
+                index.indexAfterCommit(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        index.indexAfterCommit(batch);
+        index.refresh();
+        List<SearchHit> first = index.search("w2", null, null, PAGE_SIZE);
+        secondPageAfter = first.get(first.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> commonTerm() {
+        return index.search("w2", null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<SearchHit> commonTermSecondPage() {
+        return index.search("w2", null, secondPageAfter, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<SearchHit> twoTerms() {
+        return index.search("w2 w150", null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<SearchHit> rareTerm() {
+        return index.search("w5000", null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<SearchHit> commonTermInOrganization() {
+        return index.search("w2", organizationId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void indexOne() {
+        index.indexAfterCommit(review());
+    }
+
+    private Review review() {
+        return Review.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(organizations[random.nextInt(ORGANIZATIONS)])
+                .title(words(4))
+                .content(words(40))
+                .publishedAt(Instant.EPOCH)
+                .ratingValue(4)
+                .build();
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder(count * 6);
+        for (int i = 0; i < count; i++) {
+            // Логарифмически равномерный ранг: частота слова ~ 1/ранг
+            text.append('w').append((int) Math.pow(VOCABULARY, random.nextDouble()) + 1).append(' ');
+        }
+        return text.toString();
+    }
+}
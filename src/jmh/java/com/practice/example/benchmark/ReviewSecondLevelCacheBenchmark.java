@@ -0,0 +1,114 @@
+package com.practice.example.benchmark;
+
+import com.practice.example.model.Review;
+import com.practice.example.repository.ReviewRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Смесь чтений отзыва по id и реакций (атомарный UPDATE счетчиков с точечным вытеснением, как
+ * в ReviewService) во встроенной H2 через голый Hibernate: без кэша второго уровня против JCache-региона
+ * из review-cache.conf (профиль prod). {@code readPercent} — доля чтений. Число SQL-операторов
+ * на операцию и доля попаданий в регион печатаются после прогона.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewSecondLevelCacheBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final String INCREMENT = "update reviews set like_count = like_count + 1 where id = :id";
+
+    @Param({"off", "jcache"})
+    public String cache;
+
+    @Param({"90", "99"})
+    public int readPercent;
+
+    private SessionFactory sessionFactory;
+
+    private Statistics statistics;
+
+    private UUID[] ids;
+
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Review.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:l2_" + cache + "_" + readPercent + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "500")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, String.valueOf(cache.equals("jcache")));
+        if (cache.equals("jcache")) {
+            configuration
+                    .setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                    .setProperty("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                    .setProperty("hibernate.javax.cache.uri", "review-cache.conf")
+                    .setProperty("hibernate.cache.jcache.missing_cache_strategy", "fail");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+
+        ids = new UUID[ROWS];
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                ids[i] = UUID.randomUUID();
+                session.persist(new Review(ids[i], UUID.randomUUID(), UUID.randomUUID(), "Отличный сервис",
+                        "Хорошее место, вкусный кофе.", start.plusSeconds(i), 4));
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        System.out.printf("%n  statements/op: %.3f, L2 hit ratio: %.3f%n",
+                (double) statistics.getPrepareStatementCount() / Math.max(operations, 1),
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID id = ids[random.nextInt(ROWS)];
+        operations++;
+        if (random.nextInt(100) < readPercent) {
+            return sessionFactory.fromTransaction(session -> session.find(Review.class, id).getLikeCount());
+        }
+        int updated = sessionFactory.fromTransaction(session -> session.createNativeMutationQuery(INCREMENT)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, ReviewRepository.REACTION_COUNTERS_SPACE)
+                .setParameter("id", id)
+                .executeUpdate());
+        sessionFactory.getCache().evict(Review.class, id);
+        return updated;
+    }
+}
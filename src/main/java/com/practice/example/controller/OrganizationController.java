@@ -0,0 +1,44 @@
+package com.practice.example.controller;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.OrganizationRatingSummary;
+import com.practice.example.service.HelpfulReviewRanking;
+import com.practice.example.service.OrganizationStatsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/organizations")
+public class OrganizationController {
+
+    private final OrganizationStatsService organizationStatsService;
+
+    private final HelpfulReviewRanking helpfulReviewRanking;
+
+    public OrganizationController(OrganizationStatsService organizationStatsService,
+                                     HelpfulReviewRanking helpfulReviewRanking) {
+        this.organizationStatsService = organizationStatsService;
+        this.helpfulReviewRanking = helpfulReviewRanking;
+    }
+
+    @GetMapping("/{id}/rating-summary")
+    public ResponseEntity<OrganizationRatingSummary> getRatingSummary(@PathVariable("id") UUID organizationId) {
+        return ResponseEntity.ok(organizationStatsService.getRatingSummary(organizationId));
+    }
+
+    // Самые полезные отзывы: из рейтинга в памяти, без запроса к БД
+    @GetMapping("/{id}/helpful-reviews")
+    public ResponseEntity<List<HelpfulReview>> getMostHelpful(@PathVariable("id") UUID organizationId,
+                                                              @RequestParam(value = "limit", defaultValue = "" + HelpfulReviewRanking.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(helpfulReviewRanking.getMostHelpful(organizationId, limit));
+    }
+}
@@ -2,17 +2,23 @@ package com.practice.example.controller;
 
 import com.practice.example.dto.AddReactionRequest;
 import com.practice.example.dto.CreateReviewRequest;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewThread;
+import com.practice.example.dto.ReviewView;
 import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
 import com.practice.example.service.ReviewService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/reviews")
 @Validated
 public class ReviewController {
@@ -55,10 +61,10 @@ public class ReviewController {
     }
 
     @PostMapping("/{id}/reactions")
-    public ResponseEntity<Review> addReaction(@PathVariable("id") UUID reviewId,
-                                              @RequestBody AddReactionRequest request) {
+    public ResponseEntity<ReviewReactionCounts> addReaction(@PathVariable("id") UUID reviewId,
+                                                            @RequestBody AddReactionRequest request) {
         try {
-            Review updated = reviewService.addReaction(reviewId, request.getReactionType());
+            ReviewReactionCounts updated = reviewService.addReaction(reviewId, request.getReactionType());
             return ResponseEntity.ok(updated);
         } catch (NoSuchElementException ex) {
             return ResponseEntity.notFound().build();
@@ -68,8 +74,49 @@ public class ReviewController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Review>> getAllReviews() {
-        return ResponseEntity.ok(reviewService.getAllReviews());
+    public ResponseEntity<ReviewPage<ReviewView>> getReviews(@RequestParam(value = "organizationId", required = false) UUID organizationId,
+                                                 @RequestParam(value = "authorId", required = false) UUID authorId,
+                                                 @RequestParam(value = "parentReviewId", required = false) UUID parentReviewId,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit,
+                                                 @RequestParam(value = "preview", defaultValue = "false") boolean preview) {
+        try {
+            return ResponseEntity.ok(reviewService.getReviews(organizationId, authorId, parentReviewId, cursor, limit, preview));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ReviewPage<ReviewView>> search(@RequestParam("q") String query,
+                                                         @RequestParam(value = "organizationId", required = false) UUID organizationId,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.search(query, organizationId, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReviewDetails> getReview(@PathVariable("id") UUID reviewId) {
+        try {
+            return ResponseEntity.ok(reviewService.getReview(reviewId));
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/thread")
+    public ResponseEntity<ReviewThread> getThread(@PathVariable("id") UUID reviewId,
+                                                  @RequestParam(value = "depth", defaultValue = "" + ReviewService.MAX_THREAD_DEPTH) int depth,
+                                                  @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_THREAD_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getThread(reviewId, depth, limit));
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @DeleteMapping("/{id}")
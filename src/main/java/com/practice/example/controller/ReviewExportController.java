@@ -0,0 +1,30 @@
+package com.practice.example.controller;
+
+import com.practice.example.service.ReviewExportService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/reviews/export")
+public class ReviewExportController {
+
+    private final ReviewExportService reviewExportService;
+
+    public ReviewExportController(ReviewExportService reviewExportService) {
+        this.reviewExportService = reviewExportService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReviews() {
+        StreamingResponseBody body = reviewExportService::exportReviews;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
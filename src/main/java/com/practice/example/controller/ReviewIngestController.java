@@ -0,0 +1,31 @@
+package com.practice.example.controller;
+
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.service.ReviewIngestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/reviews/bulk")
+public class ReviewIngestController {
+
+    private final ReviewIngestService reviewIngestService;
+
+    public ReviewIngestController(ReviewIngestService reviewIngestService) {
+        this.reviewIngestService = reviewIngestService;
+    }
+
+    // Тело читается потоком, без буферизации всего массива в памяти
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkIngestResult> ingest(InputStream body) throws IOException {
+        return ResponseEntity.ok(reviewIngestService.ingest(body));
+    }
+}
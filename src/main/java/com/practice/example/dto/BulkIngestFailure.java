@@ -0,0 +1,11 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class BulkIngestFailure {
+    private final int index;
+    private final String error;
+}
@@ -0,0 +1,20 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class BulkIngestResult {
+    private final int received;
+    private final int created;
+    private final int failed;
+
+    // Первые ошибки по позиции элемента во входном потоке (не более MAX_REPORTED_FAILURES)
+    private final List<BulkIngestFailure> failures;
+
+    // false, если поток оборвался на некорректном JSON и хвост не был прочитан
+    private final boolean complete;
+}
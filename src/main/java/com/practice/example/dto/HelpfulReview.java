@@ -0,0 +1,22 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Позиция в списке самых полезных отзывов организации.
+ */
+@Getter
+@RequiredArgsConstructor
+public class HelpfulReview {
+    private final UUID reviewId;
+    private final Instant publishedAt;
+    private final int likeCount;
+    private final int dislikeCount;
+
+    // Нижняя граница доверительного интервала Уилсона для доли лайков (0..1), без учета давности
+    private final double wilsonScore;
+}
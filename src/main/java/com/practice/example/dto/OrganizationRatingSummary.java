@@ -0,0 +1,41 @@
+package com.practice.example.dto;
+
+import com.practice.example.model.OrganizationRatingStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class OrganizationRatingSummary {
+    private final UUID organizationId;
+    private final long reviewCount;
+
+    // null, если отзывов нет
+    private final Double averageRating;
+
+    // Число отзывов по оценкам 1-5
+    private final Map<Integer, Long> histogram;
+
+    private final long likeCount;
+    private final long dislikeCount;
+
+    public static OrganizationRatingSummary of(OrganizationRatingStats stats) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, stats.getRating1());
+        histogram.put(2, stats.getRating2());
+        histogram.put(3, stats.getRating3());
+        histogram.put(4, stats.getRating4());
+        histogram.put(5, stats.getRating5());
+        Double average = stats.getReviewCount() == 0 ? null : (double) stats.getRatingSum() / stats.getReviewCount();
+        return new OrganizationRatingSummary(stats.getOrganizationId(), stats.getReviewCount(), average, histogram,
+                stats.getLikeCount(), stats.getDislikeCount());
+    }
+
+    public static OrganizationRatingSummary empty(UUID organizationId) {
+        return of(OrganizationRatingStats.builder().organizationId(organizationId).build());
+    }
+}
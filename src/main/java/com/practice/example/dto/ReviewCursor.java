@@ -0,0 +1,43 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Непрозрачный курсор постраничной выдачи: позиция последнего отданного отзыва (published_at, id).
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReviewCursor {
+    private final Instant publishedAt;
+    private final UUID id;
+
+    public static ReviewCursor of(ReviewView review) {
+        return new ReviewCursor(review.getPublishedAt(), review.getId());
+    }
+
+    public String encode() {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            return new ReviewCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, ex);
+        }
+    }
+}
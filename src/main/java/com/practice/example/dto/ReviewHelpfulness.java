@@ -0,0 +1,30 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Счетчики LIKE/DISLIKE отзыва вместе с тем, что нужно рейтингу полезных отзывов:
+ * организацией и временем публикации. JPQL-проекция по таблице reviews.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReviewHelpfulness {
+    private final UUID reviewId;
+    private final UUID organizationId;
+    private final Instant publishedAt;
+    private final int likeCount;
+    private final int dislikeCount;
+
+    public ReviewHelpfulness withPending(long likes, long dislikes) {
+        return new ReviewHelpfulness(reviewId, organizationId, publishedAt,
+                likeCount + (int) likes, dislikeCount + (int) dislikes);
+    }
+
+    public ReviewReactionCounts toReactionCounts() {
+        return new ReviewReactionCounts(reviewId, likeCount, dislikeCount);
+    }
+}
@@ -0,0 +1,15 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ReviewPage<T> {
+    private final List<T> items;
+
+    // null, если страница последняя
+    private final String nextCursor;
+}
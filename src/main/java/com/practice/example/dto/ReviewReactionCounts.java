@@ -0,0 +1,30 @@
+package com.practice.example.dto;
+
+import com.practice.example.model.EmojiReactionCounts;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class ReviewReactionCounts {
+    private final UUID reviewId;
+    private final int likeCount;
+    private final int dislikeCount;
+    private final EmojiReactionCounts emoji;
+
+    // Используется JPQL-проекцией по таблице reviews, эмодзи дочитываются отдельно
+    public ReviewReactionCounts(UUID reviewId, int likeCount, int dislikeCount) {
+        this(reviewId, likeCount, dislikeCount, EmojiReactionCounts.empty());
+    }
+
+    public ReviewReactionCounts(UUID reviewId, int likeCount, int dislikeCount, EmojiReactionCounts emoji) {
+        this.reviewId = reviewId;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+        this.emoji = emoji;
+    }
+
+    public ReviewReactionCounts withEmoji(EmojiReactionCounts emoji) {
+        return new ReviewReactionCounts(reviewId, likeCount, dislikeCount, emoji);
+    }
+}
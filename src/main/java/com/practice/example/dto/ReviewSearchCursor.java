@@ -0,0 +1,37 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Непрозрачный курсор поисковой выдачи: оценка и id последнего отданного отзыва.
+ * Оценки зависят от статистики индекса, поэтому после записи между страницами
+ * порядок может немного сдвинуться; дубли и пропуски ограничены границей страницы.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReviewSearchCursor {
+    private final float score;
+    private final UUID id;
+
+    public String encode() {
+        // Float.toString обратим без потерь: курсор указывает ровно на ту же позицию
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewSearchCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        // NumberFormatException — наследник IllegalArgumentException
+        return new ReviewSearchCursor(Float.parseFloat(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice.example.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ReviewThread {
+    private final ReviewThreadNode root;
+
+    // Число отзывов в дереве, включая корень
+    private final int size;
+
+    // true, если ветка не уместилась в лимит или глубину и самые глубокие/поздние ответы отброшены
+    private final boolean truncated;
+}
@@ -0,0 +1,17 @@
+package com.practice.example.dto;
+
+import com.practice.example.model.ReviewDetails;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ReviewThreadNode {
+    private final ReviewDetails review;
+
+    // Прямые ответы в порядке публикации
+    private final List<ReviewThreadNode> replies = new ArrayList<>();
+}
@@ -0,0 +1,63 @@
+package com.practice.example.dto;
+
+import com.practice.example.model.CompressedTextConverter;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Отзыв в выдаче, собранный JPQL-проекцией прямо из колонок reviews: без управляемой сущности,
+ * снапшота для dirty checking и прокси родителя. JSON совпадает с прежней сериализацией {@code Review}
+ * плюс {@code contentTruncated}.
+ */
+@Getter
+public class ReviewView {
+    private final UUID id;
+    private final UUID authorId;
+    private final UUID organizationId;
+    private final String title;
+
+    // Полный текст или, в режиме превью, его начало
+    private final String content;
+
+    // true, если вместо полного текста отдано превью короче оригинала
+    private final boolean contentTruncated;
+
+    // Значение parent_review_id как есть, null для корневого отзыва
+    private final UUID parentReviewId;
+    private final Instant publishedAt;
+    private final int ratingValue;
+    private final int likeCount;
+    private final int dislikeCount;
+
+    public ReviewView(UUID id, UUID authorId, UUID organizationId, String title, String content,
+                      boolean contentTruncated, UUID parentReviewId, Instant publishedAt,
+                      int ratingValue, int likeCount, int dislikeCount) {
+        this.id = id;
+        this.authorId = authorId;
+        this.organizationId = organizationId;
+        this.title = title;
+        this.content = content;
+        this.contentTruncated = contentTruncated;
+        this.parentReviewId = parentReviewId;
+        this.publishedAt = publishedAt;
+        this.ratingValue = ratingValue;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+    }
+
+    // Полный текст: JPQL-проекция, конвертер уже применен
+    public ReviewView(UUID id, UUID authorId, UUID organizationId, String title, String content,
+                      UUID parentReviewId, Instant publishedAt, int ratingValue, int likeCount, int dislikeCount) {
+        this(id, authorId, organizationId, title, content, false, parentReviewId, publishedAt,
+                ratingValue, likeCount, dislikeCount);
+    }
+
+    // Полный текст из нативного запроса: колонка в хранимом виде, см. CompressedTextConverter
+    public ReviewView(UUID id, UUID authorId, UUID organizationId, String title, byte[] storedContent,
+                      UUID parentReviewId, Instant publishedAt, int ratingValue, int likeCount, int dislikeCount) {
+        this(id, authorId, organizationId, title, CompressedTextConverter.decode(storedContent), false,
+                parentReviewId, publishedAt, ratingValue, likeCount, dislikeCount);
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice.example.infra.id;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "review.id.generator", havingValue = "random")
+public class RandomUuidGenerator implements ReviewIdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
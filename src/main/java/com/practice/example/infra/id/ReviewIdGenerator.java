@@ -0,0 +1,12 @@
+package com.practice.example.infra.id;
+
+import java.util.UUID;
+
+/**
+ * Источник первичных ключей отзывов. Реализация выбирается свойством {@code review.id.generator}:
+ * {@code v7} (по умолчанию, упорядочены по времени) или {@code random} (UUIDv4).
+ */
+public interface ReviewIdGenerator {
+
+    UUID next();
+}
@@ -0,0 +1,55 @@
+package com.practice.example.infra.id;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562): 48 бит миллисекунд Unix-времени, 12 бит счетчика внутри миллисекунды
+ * (поле rand_a, метод 1 из RFC) и 62 случайных бита. Ключи растут со временем, поэтому вставки
+ * идут в правый край B-дерева, а порядок по id совпадает с порядком публикации.
+ * <p>
+ * Монотонность между потоками обеспечивает одно CAS-обновление {@link AtomicLong} без блокировок:
+ * если за миллисекунду выдано больше 4096 ключей или часы пошли назад, значение просто
+ * продолжает расти, опережая часы. Случайная часть берется из {@link ThreadLocalRandom}:
+ * идентификаторы не секретны и не служат токенами.
+ */
+@Component
+@ConditionalOnProperty(name = "review.id.generator", havingValue = "v7", matchIfMissing = true)
+public class UuidV7Generator implements ReviewIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final long VERSION = 0x7000L;
+
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    private final Clock clock;
+
+    // Последняя выданная пара (миллисекунды << 12 | счетчик)
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(Clock.systemUTC());
+    }
+
+    UuidV7Generator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long floor = clock.millis() << COUNTER_BITS;
+        long stamp = last.accumulateAndGet(floor, (previous, now) -> Math.max(previous + 1, now));
+
+        long millis = stamp >>> COUNTER_BITS;
+        long counter = stamp & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | VERSION | counter;
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() >>> 2);
+        return new UUID(msb, lsb);
+    }
+}
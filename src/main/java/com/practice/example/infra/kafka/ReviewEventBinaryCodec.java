@@ -0,0 +1,287 @@
+package com.practice.example.infra.kafka;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Компактное бинарное представление события отзыва.
+ * <pre>
+ * magic(0x00) version(0x01) flags(1)
+ * id(16) authorId(16) organizationId(16) [parentReviewId(16)]
+ * [publishedAt: zigzag varlong, микросекунды эпохи] [rating: zigzag varint]
+ * title, content: varint (длина + 1, 0 - null) + UTF-8
+ * likes, dislikes: zigzag varint
+ * emoji: varint n, n * (codePoint varint, count zigzag varint), по возрастанию code point
+ * </pre>
+ * UUID пишутся двумя long в big-endian. Новые поля добавляются только с новой версией.
+ */
+@Component
+public class ReviewEventBinaryCodec {
+
+    public static final byte MAGIC = 0x00;
+
+    public static final byte VERSION = 0x01;
+
+    private static final int FLAG_PARENT = 1;
+
+    private static final int FLAG_PUBLISHED_AT = 1 << 1;
+
+    private static final int FLAG_RATING = 1 << 2;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<Output> OUTPUTS = ThreadLocal.withInitial(() -> new Output(INITIAL_CAPACITY));
+
+    public byte[] encode(ReviewDetails review) {
+        Output out = OUTPUTS.get();
+        out.length = 0;
+        try {
+            encodeTo(out, review);
+            return Arrays.copyOf(out.bytes, out.length);
+        } finally {
+            if (out.bytes.length > MAX_RETAINED_CAPACITY) {
+                OUTPUTS.remove();
+            }
+        }
+    }
+
+    private void encodeTo(Output out, ReviewDetails review) {
+        UUID parentReviewId = review.getParentReviewId() == null ? null : review.getParentReviewId().orElse(null);
+        ReviewRating rating = review.getRating();
+        int flags = (parentReviewId != null ? FLAG_PARENT : 0)
+                | (review.getPublishedAt() != null ? FLAG_PUBLISHED_AT : 0)
+                | (rating != null ? FLAG_RATING : 0);
+
+        out.raw(MAGIC);
+        out.raw(VERSION);
+        out.raw((byte) flags);
+        out.uuid(review.getId());
+        out.uuid(review.getAuthorId());
+        out.uuid(review.getOrganizationId());
+        if (parentReviewId != null) {
+            out.uuid(parentReviewId);
+        }
+        if (review.getPublishedAt() != null) {
+            out.varlong(zigzag(toEpochMicros(review.getPublishedAt())));
+        }
+        if (rating != null) {
+            out.varint(zigzag(rating.getValue()));
+        }
+        out.string(review.getTitle());
+        out.string(review.getContent());
+        out.varint(zigzag(review.getReactionCount(ReviewReactions.Type.LIKE)));
+        out.varint(zigzag(review.getReactionCount(ReviewReactions.Type.DISLIKE)));
+        EmojiReactionCounts emoji = review.getEmojiReactions();
+        out.varint(emoji.size());
+        for (int i = 0; i < emoji.size(); i++) {
+            out.varint(emoji.codePointAt(i));
+            out.varint(zigzag(emoji.countAt(i)));
+        }
+    }
+
+    public ReviewDetails decode(byte[] payload) {
+        Input in = new Input(payload);
+        if (payload.length < 2 || in.raw() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary review event");
+        }
+        byte version = in.raw();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported review event version: " + version);
+        }
+        int flags = in.raw();
+        UUID id = in.uuid();
+        UUID authorId = in.uuid();
+        UUID organizationId = in.uuid();
+        Optional<UUID> parentReviewId = (flags & FLAG_PARENT) != 0 ? Optional.of(in.uuid()) : Optional.empty();
+        Instant publishedAt = (flags & FLAG_PUBLISHED_AT) != 0 ? fromEpochMicros(unzigzag(in.varlong())) : null;
+        ReviewRating rating = (flags & FLAG_RATING) != 0 ? new ReviewRating(unzigzag(in.varint())) : null;
+        String title = in.string();
+        String content = in.string();
+        int likes = unzigzag(in.varint());
+        int dislikes = unzigzag(in.varint());
+        int emojiCount = in.varint();
+        // Каждая реакция занимает минимум два байта: размер массивов не может превышать остаток сообщения
+        if (emojiCount < 0 || emojiCount > in.remaining() / 2) {
+            throw new IllegalArgumentException("Invalid emoji reaction count in review event: " + emojiCount);
+        }
+        int[] codePoints = new int[emojiCount];
+        int[] counts = new int[emojiCount];
+        for (int i = 0; i < emojiCount; i++) {
+            codePoints[i] = in.varint();
+            counts[i] = unzigzag(in.varint());
+        }
+
+        ReviewDetails details = new ReviewDetails(id, authorId, organizationId, title, content, parentReviewId,
+                publishedAt, rating, EmojiReactionCounts.of(codePoints, counts));
+        details.addReaction(ReviewReactions.Type.LIKE, likes);
+        details.addReaction(ReviewReactions.Type.DISLIKE, dislikes);
+        return details;
+    }
+
+    private static long toEpochMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1000);
+    }
+
+    private static Instant fromEpochMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+        private byte[] bytes;
+        private int length;
+
+        Output(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void raw(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        void uuid(UUID uuid) {
+            fixedLong(uuid.getMostSignificantBits());
+            fixedLong(uuid.getLeastSignificantBits());
+        }
+
+        void fixedLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void varint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void varlong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte raw() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated review event");
+            }
+            return bytes[position++];
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        UUID uuid() {
+            return new UUID(fixedLong(), fixedLong());
+        }
+
+        long fixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (raw() & 0xFF);
+            }
+            return value;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = raw();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in review event");
+        }
+
+        long varlong() {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = raw();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in review event");
+        }
+
+        String string() {
+            int length = varint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated review event");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.practice.example.infra.kafka;
+
+/**
+ * Формат тела события в топике отзывов. Потребители различают форматы по первому байту:
+ * JSON всегда начинается с {@code '{'}, бинарный формат - с {@link ReviewEventBinaryCodec#MAGIC}.
+ */
+public enum ReviewEventEncoding {
+    JSON,
+    BINARY;
+
+    public static ReviewEventEncoding detect(byte[] payload) {
+        return payload.length > 0 && payload[0] == ReviewEventBinaryCodec.MAGIC ? BINARY : JSON;
+    }
+}
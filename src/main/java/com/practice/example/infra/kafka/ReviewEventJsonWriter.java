@@ -0,0 +1,315 @@
+package com.practice.example.infra.kafka;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Однопроходная сериализация {@link ReviewDetails} в JSON (UTF-8) прямо в переиспользуемый
+ * буфер потока: без промежуточных строк, {@code StringBuilder} и цепочек {@code replace}.
+ * Единственная аллокация на событие — итоговый {@code byte[]}.
+ */
+@Component
+public class ReviewEventJsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ReviewReactions.Type[] REACTION_TYPES = ReviewReactions.Type.values();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Буферы крупнее этого не удерживаем в ThreadLocal, чтобы редкий огромный отзыв не держал память
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(() -> new Buffer(INITIAL_CAPACITY));
+
+    public byte[] write(ReviewDetails review) {
+        Buffer buffer = BUFFERS.get();
+        buffer.reset();
+        try {
+            writeTo(buffer, review);
+            return buffer.toByteArray();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFERS.remove();
+            }
+        }
+    }
+
+    private void writeTo(Buffer out, ReviewDetails review) {
+        out.ascii("{\"id\":");
+        writeUuid(out, review.getId());
+        out.ascii(",\"authorId\":");
+        writeUuid(out, review.getAuthorId());
+        out.ascii(",\"organizationId\":");
+        writeUuid(out, review.getOrganizationId());
+        out.ascii(",\"title\":");
+        writeString(out, review.getTitle());
+        out.ascii(",\"content\":");
+        writeString(out, review.getContent());
+        out.ascii(",\"publishedAt\":");
+        writeInstant(out, review.getPublishedAt());
+        out.ascii(",\"rating\":");
+        ReviewRating rating = review.getRating();
+        if (rating == null) {
+            out.ascii("null");
+        } else {
+            out.integer(rating.getValue());
+        }
+        out.ascii(",\"reactions\":");
+        writeReactions(out, review, review.getEmojiReactions());
+        out.ascii(",\"parentReviewId\":");
+        Optional<UUID> parentReviewId = review.getParentReviewId();
+        writeUuid(out, parentReviewId == null ? null : parentReviewId.orElse(null));
+        out.put('}');
+    }
+
+    private void writeReactions(Buffer out, ReviewDetails review, EmojiReactionCounts emoji) {
+        out.put('{');
+        boolean first = true;
+        // Под EMOJI в карте лежит только сумма, разбивка по символам пишется ниже
+        for (ReviewReactions.Type type : REACTION_TYPES) {
+            if (type == ReviewReactions.Type.EMOJI) {
+                continue;
+            }
+            if (!first) out.put(',');
+            out.put('"').ascii(type.name()).put('"').put(':').integer(review.getReactionCount(type));
+            first = false;
+        }
+        for (int i = 0; i < emoji.size(); i++) {
+            if (!first) out.put(',');
+            out.put('"');
+            writeCodePoint(out, emoji.codePointAt(i));
+            out.put('"').put(':').integer(emoji.countAt(i));
+            first = false;
+        }
+        out.put('}');
+    }
+
+    static void writeString(Buffer out, String value) {
+        if (value == null) {
+            out.ascii("null");
+            return;
+        }
+        out.put('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out.put(c);
+                } else {
+                    writeEscapedAscii(out, c);
+                }
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(out, Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                // Непарный суррогат не кодируется в UTF-8
+                writeCodePoint(out, 0xFFFD);
+            } else {
+                writeCodePoint(out, c);
+            }
+        }
+        out.put('"');
+    }
+
+    private static void writeEscapedAscii(Buffer out, char c) {
+        out.put('\\');
+        switch (c) {
+            case '"' -> out.put('"');
+            case '\\' -> out.put('\\');
+            case '\n' -> out.put('n');
+            case '\r' -> out.put('r');
+            case '\t' -> out.put('t');
+            case '\b' -> out.put('b');
+            case '\f' -> out.put('f');
+            default -> out.put('u').put('0').put('0').raw(HEX[c >> 4]).raw(HEX[c & 0xF]);
+        }
+    }
+
+    static void writeCodePoint(Buffer out, int cp) {
+        if (cp < 0x80) {
+            out.raw((byte) cp);
+        } else if (cp < 0x800) {
+            out.raw((byte) (0xC0 | (cp >> 6)))
+                    .raw((byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            out.raw((byte) (0xE0 | (cp >> 12)))
+                    .raw((byte) (0x80 | ((cp >> 6) & 0x3F)))
+                    .raw((byte) (0x80 | (cp & 0x3F)));
+        } else {
+            out.raw((byte) (0xF0 | (cp >> 18)))
+                    .raw((byte) (0x80 | ((cp >> 12) & 0x3F)))
+                    .raw((byte) (0x80 | ((cp >> 6) & 0x3F)))
+                    .raw((byte) (0x80 | (cp & 0x3F)));
+        }
+    }
+
+    static void writeUuid(Buffer out, UUID uuid) {
+        if (uuid == null) {
+            out.ascii("null");
+            return;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        out.put('"');
+        hex(out, msb >>> 32, 8);
+        out.put('-');
+        hex(out, msb >>> 16, 4);
+        out.put('-');
+        hex(out, msb, 4);
+        out.put('-');
+        hex(out, lsb >>> 48, 4);
+        out.put('-');
+        hex(out, lsb, 12);
+        out.put('"');
+    }
+
+    private static void hex(Buffer out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.raw(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * ISO-8601 в UTC в том же виде, что и {@link Instant#toString()}; дробная часть группами по 3 цифры.
+     */
+    static void writeInstant(Buffer out, Instant instant) {
+        if (instant == null) {
+            out.ascii("null");
+            return;
+        }
+        long epochSecond = instant.getEpochSecond();
+        long epochDay = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+
+        // Дата по алгоритму days-from-civil (Howard Hinnant), без объектов java.time
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            out.put('"').ascii(instant.toString()).put('"');
+            return;
+        }
+        out.put('"');
+        digits(out, (int) year, 4);
+        out.put('-');
+        digits(out, month, 2);
+        out.put('-');
+        digits(out, day, 2);
+        out.put('T');
+        digits(out, secondOfDay / 3600, 2);
+        out.put(':');
+        digits(out, secondOfDay / 60 % 60, 2);
+        out.put(':');
+        digits(out, secondOfDay % 60, 2);
+        int nano = instant.getNano();
+        if (nano != 0) {
+            out.put('.');
+            if (nano % 1_000_000 == 0) {
+                digits(out, nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                digits(out, nano / 1000, 6);
+            } else {
+                digits(out, nano, 9);
+            }
+        }
+        out.put('Z').put('"');
+    }
+
+    private static void digits(Buffer out, int value, int width) {
+        for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+            out.raw((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    static final class Buffer {
+        private byte[] bytes;
+        private int length;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void reset() {
+            length = 0;
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        Buffer raw(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+            return this;
+        }
+
+        Buffer put(char asciiChar) {
+            return raw((byte) asciiChar);
+        }
+
+        Buffer ascii(String ascii) {
+            int n = ascii.length();
+            ensure(n);
+            for (int i = 0; i < n; i++) {
+                bytes[length++] = (byte) ascii.charAt(i);
+            }
+            return this;
+        }
+
+        Buffer integer(int value) {
+            if (value < 0) {
+                if (value == Integer.MIN_VALUE) {
+                    return ascii("-2147483648");
+                }
+                put('-');
+                value = -value;
+            }
+            int width = 1;
+            for (int v = value; v >= 10; v /= 10) {
+                width++;
+            }
+            ensure(width);
+            for (int i = length + width - 1; i >= length; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += width;
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
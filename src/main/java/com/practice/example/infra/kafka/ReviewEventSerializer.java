@@ -0,0 +1,39 @@
+package com.practice.example.infra.kafka;
+
+import com.practice.example.model.ReviewDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кодирует события отзывов в формат, выбранный свойством {@code review.kafka.encoding}.
+ * Формат фиксируется в момент записи в outbox, поэтому смена настройки не затрагивает
+ * уже накопленные события: потребители определяют его по самому сообщению.
+ */
+@Component
+public class ReviewEventSerializer {
+
+    private final ReviewEventJsonWriter jsonWriter;
+
+    private final ReviewEventBinaryCodec binaryCodec;
+
+    private final ReviewEventEncoding encoding;
+
+    public ReviewEventSerializer(ReviewEventJsonWriter jsonWriter,
+                                 ReviewEventBinaryCodec binaryCodec,
+                                 @Value("${review.kafka.encoding:JSON}") ReviewEventEncoding encoding) {
+        this.jsonWriter = jsonWriter;
+        this.binaryCodec = binaryCodec;
+        this.encoding = encoding;
+    }
+
+    public byte[] serialize(ReviewDetails details) {
+        return switch (encoding) {
+            case JSON -> jsonWriter.write(details);
+            case BINARY -> binaryCodec.encode(details);
+        };
+    }
+
+    public ReviewEventEncoding getEncoding() {
+        return encoding;
+    }
+}
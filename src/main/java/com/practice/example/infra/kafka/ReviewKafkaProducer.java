@@ -1,81 +1,228 @@
 package com.practice.example.infra.kafka;
 
-import com.practice.example.model.Review;
 import com.practice.example.model.ReviewDetails;
-import com.practice.example.model.ReviewReactions;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-
-@RequiredArgsConstructor
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронная публикация событий отзывов. Число одновременно неподтвержденных отправок
+ * ограничено: при исчерпании лимита вызывающий поток ждет (backpressure). Неудачная отправка
+ * повторяется с линейной задержкой, после исчерпания попыток событие уходит в dead-letter топик.
+ * Батчинг, сжатие и идемпотентность настраиваются свойствами {@code spring.kafka.producer.*}.
+ * <p>
+ * Повторы выполняются на {@code applicationTaskExecutor}, а не в общем ForkJoin-пуле:
+ * {@code send()} может заблокироваться на получении метаданных топика, а при
+ * {@code spring.threads.virtual.enabled=true} этот исполнитель запускает задачи на виртуальных потоках.
+ */
+@Slf4j
 @Component
 public class ReviewKafkaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
 
-    @Value("${review.kafka.topic}")
-    private String topic;
+    static final String ERROR_HEADER = "review-error";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private final ReviewEventSerializer reviewEventSerializer;
+
+    private final Executor retryExecutor;
+
+    private final String topic;
+
+    private final String deadLetterTopic;
+
+    private final int maxRetries;
+
+    private final long retryBackoffMs;
+
+    private final long acquireTimeoutMs;
+
+    private final Semaphore inFlight;
+
+    private final Timer sendSuccess;
+
+    private final Timer sendFailure;
+
+    private final Counter retries;
+
+    private final Counter deadLettered;
+
+    private final Timer serialization;
 
-    public void sendReviewPublished(ReviewDetails details) {
-        String key = details.getOrganizationId().toString();
-        String json = serializeToJson(details);
-        kafkaTemplate.send(topic, key, json);
+    public ReviewKafkaProducer(KafkaTemplate<String, byte[]> kafkaTemplate,
+                               ReviewEventSerializer reviewEventSerializer,
+                               MeterRegistry meterRegistry,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                               Executor retryExecutor,
+                               @Value("${review.kafka.topic}") String topic,
+                               @Value("${review.kafka.dead-letter-topic:${review.kafka.topic}.DLT}") String deadLetterTopic,
+                               @Value("${review.kafka.max-in-flight:1000}") int maxInFlight,
+                               @Value("${review.kafka.max-retries:3}") int maxRetries,
+                               @Value("${review.kafka.retry-backoff-ms:500}") long retryBackoffMs,
+                               @Value("${review.kafka.in-flight-acquire-timeout-ms:10000}") long acquireTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.reviewEventSerializer = reviewEventSerializer;
+        this.retryExecutor = retryExecutor;
+        this.topic = topic;
+        this.deadLetterTopic = deadLetterTopic;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.sendSuccess = Timer.builder("review.kafka.send")
+                .description("Time from send() to broker acknowledgement, including retries")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.sendFailure = Timer.builder("review.kafka.send")
+                .description("Time from send() to broker acknowledgement, including retries")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.retries = Counter.builder("review.kafka.send.retries").register(meterRegistry);
+        this.deadLettered = Counter.builder("review.kafka.send.dead.lettered").register(meterRegistry);
+        this.serialization = Timer.builder("review.kafka.serialize")
+                .description("Encoding a review event before it is written to the outbox")
+                .tag("encoding", reviewEventSerializer.getEncoding().name())
+                .register(meterRegistry);
+        meterRegistry.gauge("review.kafka.send.in.flight", inFlight, s -> maxInFlight - s.availablePermits());
     }
 
+    /**
+     * Отправляет событие. Возвращаемый future завершается успешно, когда событие подтверждено
+     * брокером или отправлено в dead-letter топик, и с ошибкой, если не удалось ни то ни другое.
+     */
+    public CompletableFuture<Void> send(String key, byte[] payload) {
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return rejected();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+        CompletableFuture<Void> result = tracked();
+        attempt(key, payload, 0, result);
+        return result;
+    }
 
-    private String serializeToJson(ReviewDetails review) {
-        StringBuilder sb = new StringBuilder("{");
+    /**
+     * Одна попытка без повторов и dead-letter топика — для вызывающих со своими повторами (outbox).
+     * Не ждет свободного слота: при исчерпании лимита сразу завершается
+     * {@link RejectedExecutionException}. Future завершается не позже {@link #deliveryTimeoutMs()}.
+     */
+    public CompletableFuture<Void> sendOnce(String key, byte[] payload) {
+        if (!inFlight.tryAcquire()) {
+            return rejected();
+        }
+        CompletableFuture<Void> result = tracked();
+        sendAsync(new ProducerRecord<>(topic, key, payload)).whenComplete((sent, ex) -> {
+            if (ex == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
 
-        sb.append("\"id\":\"").append(review.getId()).append("\",");
-        sb.append("\"authorId\":\"").append(review.getAuthorId()).append("\",");
-        sb.append("\"organizationId\":\"").append(review.getOrganizationId()).append("\",");
-        sb.append("\"title\":").append(escapeJson(review.getTitle())).append(",");
-        sb.append("\"content\":").append(escapeJson(review.getContent())).append(",");
-        sb.append("\"publishedAt\":\"").append(review.getPublishedAt()).append("\",");
+    // Свободные слоты: вызывающий может не брать больше событий, чем сейчас получится отправить
+    public int availablePermits() {
+        return inFlight.availablePermits();
+    }
 
-        sb.append("\"rating\":\"").append(review.getRating().toString()).append("\",");
+    /**
+     * Худший срок одной попытки: ожидание метаданных и места в буфере ({@code max.block.ms})
+     * плюс {@code delivery.timeout.ms}, по истечении которого продюсер сам завершает отправку ошибкой.
+     */
+    public long deliveryTimeoutMs() {
+        Map<String, Object> config = kafkaTemplate.getProducerFactory().getConfigurationProperties();
+        return longConfig(config, ProducerConfig.MAX_BLOCK_MS_CONFIG, 60_000)
+                + longConfig(config, ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 120_000);
+    }
 
-        sb.append("\"reactions\":").append(serializeReactions(review.getReactions())).append(",");
+    private static long longConfig(Map<String, Object> config, String name, long defaultValue) {
+        Object value = config.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
 
-        sb.append("\"parentReviewId\":");
-        sb.append(review.getParentReviewId()
-                .map(uuid -> "\"" + uuid + "\"")
-                .orElse("null"));
+    private static CompletableFuture<Void> rejected() {
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Too many in-flight Kafka sends"));
+    }
 
-        sb.append("}");
+    // Слот освобождается и время записывается, когда отправка завершилась любым исходом
+    private CompletableFuture<Void> tracked() {
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.whenComplete((ignored, ex) -> {
+            inFlight.release();
+            (ex == null ? sendSuccess : sendFailure).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        });
+        return result;
+    }
 
-        return sb.toString();
+    private void attempt(String key, byte[] payload, int retry, CompletableFuture<Void> result) {
+        sendAsync(new ProducerRecord<>(topic, key, payload)).whenComplete((sent, ex) -> {
+            if (ex == null) {
+                result.complete(null);
+            } else if (retry < maxRetries) {
+                retries.increment();
+                Executor delayed = CompletableFuture.delayedExecutor(
+                        retryBackoffMs * (retry + 1), TimeUnit.MILLISECONDS, retryExecutor);
+                delayed.execute(() -> attempt(key, payload, retry + 1, result));
+            } else {
+                deadLetter(key, payload, ex, result);
+            }
+        });
     }
 
-    private String serializeReactions(Map<ReviewReactions.Type, Integer> reactions) {
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<ReviewReactions.Type, Integer> entry : reactions.entrySet()) {
-            if (!first) sb.append(",");
-            switch (entry.getKey()) {
-                case LIKE:
-                    sb.append("\"").append(ReviewReactions.like()).append("\":").append(entry.getValue());
-                    break;
-                case DISLIKE:
-                    sb.append("\"").append(ReviewReactions.dislike()).append("\":").append(entry.getValue());
-                    break;
+    private void deadLetter(String key, byte[] payload, Throwable cause, CompletableFuture<Void> result) {
+        log.error("Giving up on review event with key {} after {} retries, sending to {}",
+                key, maxRetries, deadLetterTopic, cause);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(deadLetterTopic, key, payload);
+        record.headers().add(ERROR_HEADER, String.valueOf(cause).getBytes(StandardCharsets.UTF_8));
+        sendAsync(record).whenComplete((sent, ex) -> {
+            if (ex == null) {
+                deadLettered.increment();
+                result.complete(null);
+            } else {
+                result.completeExceptionally(ex);
             }
+        });
+    }
 
-            first = false;
+    // KafkaTemplate может бросить исключение синхронно (например, истек max.block.ms)
+    private CompletableFuture<SendResult<String, byte[]>> sendAsync(ProducerRecord<String, byte[]> record) {
+        try {
+            return kafkaTemplate.send(record);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
         }
-        sb.append("}");
-        return sb.toString();
     }
 
-    private String escapeJson(String raw) {
-        if (raw == null) return "null";
-        return "\"" + raw.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t") + "\"";
+    public String keyOf(ReviewDetails details) {
+        return details.getOrganizationId().toString();
     }
 
+    public byte[] serialize(ReviewDetails details) {
+        long startedAt = System.nanoTime();
+        byte[] payload = reviewEventSerializer.serialize(details);
+        serialization.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return payload;
+    }
 }
@@ -0,0 +1,53 @@
+package com.practice.example.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Число SQL-операторов на HTTP-запрос: {@code http.server.requests.db.statements} с тегами
+ * method и uri (шаблон пути, как у {@code http.server.requests}). Рост значения для эндпоинта
+ * обычно означает N+1 или потерянный батчинг.
+ * <p>
+ * Считаются операторы потока обработчика; асинхронная часть ответа (выгрузка) в счет не попадает.
+ */
+public class DbStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String METRIC = "http.server.requests.db.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public DbStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = StatementCounter.stop();
+        if (statements < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements prepared while handling one HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
@@ -0,0 +1,40 @@
+package com.practice.example.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Метрики, которых нет в автоконфигурации: число SQL-операторов на запрос. Время HTTP-запросов
+ * ({@code http.server.requests}) и вызовов репозиториев ({@code spring.data.repository.invocations})
+ * Spring Boot снимает сам, методы сервисов — через {@code @Timed}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class WebMvcMetricsConfiguration implements WebMvcConfigurer {
+
+        private final MeterRegistry meterRegistry;
+
+        WebMvcMetricsConfiguration(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new DbStatementMetricsInterceptor(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.practice.example.infra.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-операторы, которые Hibernate готовит в текущем потоке между {@link #start()} и
+ * {@link #stop()}. Подключается как {@code hibernate.session_factory.statement_inspector}.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        CURRENT.set(new int[1]);
+    }
+
+    // -1, если подсчет в этом потоке не начинался
+    static int stop() {
+        int[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? -1 : count[0];
+    }
+}
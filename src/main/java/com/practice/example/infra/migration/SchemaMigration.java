@@ -0,0 +1,52 @@
+package com.practice.example.infra.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Основа миграций Flyway для схемы, которую создает Hibernate ({@code ddl-auto=update}). Миграции
+ * выполняются до Hibernate и приводят к текущему маппингу только уже существующие таблицы: на пустой
+ * базе они ничего не делают, таблицы затем создает Hibernate. Поэтому каждая миграция сначала
+ * проверяет, что именно ей нужно изменить.
+ */
+abstract class SchemaMigration extends BaseJavaMigration {
+
+    static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Тип колонки из {@link java.sql.Types}; {@code null}, если колонки нет.
+     */
+    static Integer columnType(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), identifier(metaData, column))) {
+            return columns.next() ? columns.getInt("DATA_TYPE") : null;
+        }
+    }
+
+    static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Имена без кавычек H2 хранит в верхнем регистре, PostgreSQL — в нижнем
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+}
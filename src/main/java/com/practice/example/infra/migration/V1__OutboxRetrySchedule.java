@@ -0,0 +1,29 @@
+package com.practice.example.infra.migration;
+
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * Расписание повторов outbox: {@code next_attempt_at} (у существующих событий — время создания)
+ * и {@code parked_at} для событий, исчерпавших попытки. Очередь теперь упорядочена по next_attempt_at.
+ */
+public class V1__OutboxRetrySchedule extends SchemaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!tableExists(connection, "review_outbox")) {
+            return;
+        }
+        if (columnType(connection, "review_outbox", "next_attempt_at") == null) {
+            execute(connection, "ALTER TABLE review_outbox ADD COLUMN next_attempt_at TIMESTAMP(6) WITH TIME ZONE");
+            execute(connection, "UPDATE review_outbox SET next_attempt_at = created_at");
+            execute(connection, "ALTER TABLE review_outbox ALTER COLUMN next_attempt_at SET NOT NULL");
+        }
+        if (columnType(connection, "review_outbox", "parked_at") == null) {
+            execute(connection, "ALTER TABLE review_outbox ADD COLUMN parked_at TIMESTAMP(6) WITH TIME ZONE");
+        }
+        execute(connection, "DROP INDEX IF EXISTS idx_review_outbox_created_at_id");
+    }
+}
@@ -0,0 +1,44 @@
+package com.practice.example.infra.migration;
+
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * Агрегат {@code organization_rating_stats} для баз, где отзывы появились раньше него: таблица создается
+ * и заполняется по отзывам здесь, а не при старте приложения. Миграцию выполняет один экземпляр под
+ * блокировкой Flyway и до приема запросов, поэтому параллельные отзывы и реакции не учитываются дважды.
+ */
+public class V2__OrganizationRatingStats extends SchemaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!tableExists(connection, "reviews")) {
+            return;
+        }
+        if (!tableExists(connection, "organization_rating_stats")) {
+            execute(connection, """
+                    CREATE TABLE organization_rating_stats (
+                        organization_id UUID NOT NULL PRIMARY KEY,
+                        review_count BIGINT NOT NULL, rating_sum BIGINT NOT NULL,
+                        rating_1 BIGINT NOT NULL, rating_2 BIGINT NOT NULL, rating_3 BIGINT NOT NULL,
+                        rating_4 BIGINT NOT NULL, rating_5 BIGINT NOT NULL,
+                        like_count BIGINT NOT NULL, dislike_count BIGINT NOT NULL)""");
+        }
+        // Уже заполненный агрегат (его вела предыдущая версия) не трогаем
+        execute(connection, """
+                INSERT INTO organization_rating_stats (organization_id, review_count, rating_sum,
+                    rating_1, rating_2, rating_3, rating_4, rating_5, like_count, dislike_count)
+                SELECT organization_id, COUNT(*), SUM(rating_value),
+                    SUM(CASE WHEN rating_value = 1 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN rating_value = 2 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN rating_value = 3 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN rating_value = 4 THEN 1 ELSE 0 END),
+                    SUM(CASE WHEN rating_value = 5 THEN 1 ELSE 0 END),
+                    SUM(like_count), SUM(dislike_count)
+                FROM reviews
+                WHERE NOT EXISTS (SELECT 1 FROM organization_rating_stats)
+                GROUP BY organization_id""");
+    }
+}
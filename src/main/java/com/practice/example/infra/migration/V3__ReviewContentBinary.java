@@ -0,0 +1,92 @@
+package com.practice.example.infra.migration;
+
+import com.practice.example.model.CompressedTextConverter;
+import com.practice.example.model.Review;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Set;
+
+/**
+ * Тело отзыва в формате {@link CompressedTextConverter} и превью для выдачи списком. В базах прежней
+ * версии {@code reviews.content} — текст: он перекодируется в байты с заголовком формата тем же
+ * {@link CompressedTextConverter#encode}, что и при записи, а {@code content_preview} и
+ * {@code content_truncated} заполняются по правилам {@link Review}. Строки читаются курсором и
+ * обновляются пачками, поэтому таблица целиком в память не попадает.
+ */
+public class V3__ReviewContentBinary extends SchemaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Set<Integer> TEXT_TYPES = Set.of(Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB,
+            Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.NCLOB);
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!tableExists(connection, "reviews")) {
+            return;
+        }
+        Integer contentType = columnType(connection, "reviews", "content");
+        if (contentType == null) {
+            return;
+        }
+        boolean textContent = TEXT_TYPES.contains(contentType);
+        boolean backfillPreview = columnType(connection, "reviews", "content_truncated") == null;
+        if (!textContent && !backfillPreview) {
+            return;
+        }
+        if (columnType(connection, "reviews", "content_preview") == null) {
+            execute(connection, "ALTER TABLE reviews ADD COLUMN content_preview VARCHAR(" + Review.PREVIEW_LENGTH + ")");
+        }
+        if (backfillPreview) {
+            execute(connection, "ALTER TABLE reviews ADD COLUMN content_truncated BOOLEAN");
+        }
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        if (textContent) {
+            // Тот же тип, что Hibernate создает для byte[] длиной CompressedTextConverter.MAX_STORED_LENGTH
+            execute(connection, "ALTER TABLE reviews ADD COLUMN content_stored "
+                    + (postgres ? "BYTEA" : "VARBINARY(" + CompressedTextConverter.MAX_STORED_LENGTH + ")"));
+        }
+
+        String update = "UPDATE reviews SET content_preview = ?, content_truncated = ?"
+                + (textContent ? ", content_stored = ?" : "") + " WHERE id = ?";
+        try (Statement select = connection.createStatement();
+             PreparedStatement write = connection.prepareStatement(update)) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, content FROM reviews")) {
+                int pending = 0;
+                while (rows.next()) {
+                    String content = textContent ? rows.getString(2) : CompressedTextConverter.decode(rows.getBytes(2));
+                    boolean truncated = content != null && content.length() > Review.PREVIEW_LENGTH;
+                    write.setString(1, truncated ? Review.preview(content) : content);
+                    write.setBoolean(2, truncated);
+                    int index = 3;
+                    if (textContent) {
+                        write.setBytes(index++, CompressedTextConverter.encode(content));
+                    }
+                    write.setObject(index, rows.getObject(1));
+                    write.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        write.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    write.executeBatch();
+                }
+            }
+        }
+
+        if (textContent) {
+            execute(connection, "ALTER TABLE reviews DROP COLUMN content");
+            execute(connection, postgres ? "ALTER TABLE reviews RENAME COLUMN content_stored TO content"
+                    : "ALTER TABLE reviews ALTER COLUMN content_stored RENAME TO content");
+        }
+        execute(connection, "ALTER TABLE reviews ALTER COLUMN content_truncated SET NOT NULL");
+    }
+}
@@ -0,0 +1,215 @@
+package com.practice.example.infra.outbox;
+
+import com.practice.example.infra.kafka.ReviewKafkaProducer;
+import com.practice.example.model.OutboxEvent;
+import com.practice.example.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Переносит события из {@code review_outbox} в Kafka. Пачка берется короткой транзакцией: строки
+ * блокируются через {@code FOR UPDATE SKIP LOCKED} и арендуются на {@code send-timeout-ms}
+ * ({@code next_attempt_at}), после чего транзакция фиксируется. Отправка и ожидание брокера идут вне
+ * транзакции, без занятого соединения и блокировок; затем второй короткой транзакцией из таблицы
+ * удаляются подтвержденные события, а остальные откладываются до повтора (at-least-once). Если релей
+ * остановится посреди отправки, аренда истечет и события отправит следующий.
+ * <p>
+ * Каждое событие отправляется одной попыткой ({@link ReviewKafkaProducer#sendOnce}): повторами и
+ * отложенными событиями управляет сам outbox, поэтому повторы продюсера и его dead-letter топик здесь
+ * не используются, а ожидание подтверждения ({@code send-timeout-ms}) обязано превышать срок одной
+ * попытки — иначе еще не завершенная отправка ушла бы повторно дубликатом. Пачка не больше числа
+ * свободных слотов продюсера, чтобы не ждать слота, держа аренду.
+ * <p>
+ * Повтор откладывается с экспоненциально растущей паузой, поэтому неотправляемые события не занимают
+ * голову очереди. После {@code max-attempts} неудач событие откладывается навсегда ({@code parked_at}),
+ * увеличивает {@code review.outbox.relay.parked} и ждет разбора вручную.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ReviewKafkaProducer reviewKafkaProducer;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DistributionSummary batchSizes;
+
+    private final Counter parkedEvents;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final long sendTimeoutMs;
+
+    private final int maxAttempts;
+
+    private final long retryBackoffMs;
+
+    private final long maxRetryBackoffMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ReviewKafkaProducer reviewKafkaProducer,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${review.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${review.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${review.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMs,
+                       @Value("${review.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${review.outbox.relay.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${review.outbox.relay.max-retry-backoff-ms:300000}") long maxRetryBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.reviewKafkaProducer = reviewKafkaProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSizes = DistributionSummary.builder("review.outbox.relay.batch.size")
+                .description("Outbox events taken per relay batch")
+                .register(meterRegistry);
+        this.parkedEvents = Counter.builder("review.outbox.relay.parked")
+                .description("Outbox events parked after exhausting delivery attempts")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        if (enabled && sendTimeoutMs <= reviewKafkaProducer.deliveryTimeoutMs()) {
+            throw new IllegalStateException("review.outbox.relay.send-timeout-ms (" + sendTimeoutMs + " ms) must exceed "
+                    + "the Kafka producer max.block.ms + delivery.timeout.ms (" + reviewKafkaProducer.deliveryTimeoutMs()
+                    + " ms), otherwise sends still in flight are published again");
+        }
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    @Scheduled(fixedDelayString = "${review.outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // Пока пачки приходят полными и брокер их принимает, разбираем очередь без паузы
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * @return сколько событий подтверждено брокером и удалено из outbox
+     */
+    public int relayBatch() {
+        int limit = Math.min(batchSize, reviewKafkaProducer.availablePermits());
+        if (limit == 0) {
+            return 0;
+        }
+        // Ожидание укладывается в аренду. Аренду потом ищем по равенству, поэтому точность не выше, чем у колонки
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        Instant leasedUntil = Instant.now().plusMillis(sendTimeoutMs).truncatedTo(ChronoUnit.MILLIS);
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch(limit, leasedUntil));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        batchSizes.record(batch.size());
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(reviewKafkaProducer.sendOnce(event.getMessageKey(), event.getPayload()));
+        }
+
+        List<UUID> published = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<UUID> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(event.getId());
+            } catch (ExecutionException ex) {
+                // Не отправлено из-за занятых слотов (их заняли параллельно): это не попытка, повторим сразу
+                if (ex.getCause() instanceof RejectedExecutionException) {
+                    rejected.add(event.getId());
+                } else {
+                    failed.add(event);
+                }
+            } catch (TimeoutException ex) {
+                failed.add(event);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failed.add(event);
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            log.warn("Failed to publish {} of {} outbox events, will retry", failed.size(), batch.size());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxEventRepository.deleteByIds(published);
+            }
+            if (!rejected.isEmpty()) {
+                outboxEventRepository.release(rejected, leasedUntil, Instant.now());
+            }
+            if (!failed.isEmpty()) {
+                scheduleRetries(failed, leasedUntil);
+            }
+        });
+        return published.size();
+    }
+
+    private List<OutboxEvent> claimBatch(int limit, Instant leasedUntil) {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(Instant.now(), limit);
+        if (!batch.isEmpty()) {
+            List<UUID> ids = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                ids.add(event.getId());
+            }
+            outboxEventRepository.lease(ids, leasedUntil);
+        }
+        return batch;
+    }
+
+    // Пауза зависит от номера попытки: одно обновление на каждое встреченное в пачке число попыток
+    private void scheduleRetries(List<OutboxEvent> failed, Instant leasedUntil) {
+        Map<Integer, List<UUID>> byAttempts = new TreeMap<>();
+        for (OutboxEvent event : failed) {
+            byAttempts.computeIfAbsent(event.getAttempts() + 1, attempts -> new ArrayList<>()).add(event.getId());
+        }
+        Instant now = Instant.now();
+        byAttempts.forEach((attempts, ids) -> {
+            if (attempts >= maxAttempts) {
+                log.error("Parking {} outbox events after {} failed delivery attempts", ids.size(), attempts);
+                parkedEvents.increment(outboxEventRepository.park(ids, leasedUntil, now));
+            } else {
+                outboxEventRepository.scheduleRetry(ids, leasedUntil, now.plusMillis(retryBackoff(attempts)));
+            }
+        });
+    }
+
+    // retry-backoff-ms · 2^(attempts - 1), но не больше max-retry-backoff-ms
+    long retryBackoff(int attempts) {
+        long backoff = retryBackoffMs;
+        for (int i = 1; i < attempts && backoff < maxRetryBackoffMs; i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, maxRetryBackoffMs);
+    }
+}
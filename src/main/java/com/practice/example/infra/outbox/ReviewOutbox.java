@@ -0,0 +1,48 @@
+package com.practice.example.infra.outbox;
+
+import com.practice.example.infra.kafka.ReviewKafkaProducer;
+import com.practice.example.model.OutboxEvent;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ReviewOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ReviewKafkaProducer reviewKafkaProducer;
+
+    // Пишется только в транзакции вызывающего: откат отзыва откатывает и событие
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewPublished(ReviewDetails details) {
+        outboxEventRepository.save(toEvent(details));
+    }
+
+    // Пачкой: события вставляются JDBC-батчами и уходят в Kafka пачками через OutboxRelay
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewsPublished(List<ReviewDetails> details) {
+        outboxEventRepository.saveAll(details.stream().map(this::toEvent).toList());
+    }
+
+    private OutboxEvent toEvent(ReviewDetails details) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(details.getId())
+                .messageKey(reviewKafkaProducer.keyOf(details))
+                .payload(reviewKafkaProducer.serialize(details))
+                .createdAt(now)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.practice.example.infra.rebuild;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Перестройка структуры в памяти потоковым чтением из БД, при старте — в фоновом потоке.
+ * Удаления, пришедшие во время перестройки, запоминаются: поток чтения мог захватить строку
+ * раньше удаления, и владелец структуры должен дать удалению победить.
+ */
+public final class BackgroundRebuild {
+
+    private final String threadName;
+
+    private final Set<UUID> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    public BackgroundRebuild(String threadName) {
+        this.threadName = threadName;
+    }
+
+    public void startInBackground(LongSupplier rebuild) {
+        Thread thread = new Thread(() -> run(rebuild), threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Выполняет перестройку в текущем потоке.
+     *
+     * @return результат перестройки, обычно число перенесенных строк
+     */
+    public long run(LongSupplier rebuild) {
+        running = true;
+        try {
+            return rebuild.getAsLong();
+        } finally {
+            running = false;
+            removedDuringRebuild.clear();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Вызывается до удаления из структуры: тогда проверка после записи строки ловит и гонку
+    public void removed(UUID id) {
+        if (running) {
+            removedDuringRebuild.add(id);
+        }
+    }
+
+    public boolean wasRemoved(UUID id) {
+        return removedDuringRebuild.contains(id);
+    }
+}
@@ -0,0 +1,327 @@
+package com.practice.example.infra.search;
+
+import com.practice.example.dto.ReviewView;
+import com.practice.example.infra.rebuild.BackgroundRebuild;
+import com.practice.example.infra.tx.AfterCommit;
+import com.practice.example.model.Review;
+import com.practice.example.repository.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Встроенный полнотекстовый индекс отзывов (Lucene) по title и content с фильтром по организации.
+ * Индекс производный от таблицы reviews: при старте перестраивается потоковым чтением, дальше
+ * обновляется после коммита создания и удаления отзывов. Поиск видит изменения после
+ * near-real-time обновления читателя раз в {@code review.search.refresh-interval-ms}: обновление
+ * на каждую запись сбрасывало бы по сегменту на отзыв.
+ * <p>
+ * Файлы индекса отображаются в память (MMapDirectory): по умолчанию во временном каталоге,
+ * который удаляется при остановке, либо в {@code review.search.index-dir}. ByteBuffersDirectory
+ * заметно медленнее на сотнях тысяч документов: каждое открытие файла копирует список его буферов.
+ */
+@Slf4j
+@Component
+public class ReviewSearchIndex {
+
+    public static final int MAX_QUERY_TERMS = 16;
+
+    static final String ID = "id";
+
+    // UUID как два long в doc values: числовое сравнение дешевле строкового словаря термов
+    static final String ID_MSB = "idMsb";
+
+    static final String ID_LSB = "idLsb";
+
+    static final String ORGANIZATION_ID = "organizationId";
+
+    static final String TITLE = "title";
+
+    static final String CONTENT = "content";
+
+    // Совпадение в заголовке весит больше, чем в тексте
+    private static final float TITLE_BOOST = 2f;
+
+    private static final int REBUILD_REFRESH_EVERY = 10_000;
+
+    // BM25 по убыванию, при равенстве — по id: позиция (score, id) однозначна и годится для курсора
+    private static final Sort RANK = new Sort(SortField.FIELD_SCORE,
+            new SortField(ID_MSB, SortField.Type.LONG), new SortField(ID_LSB, SortField.Type.LONG));
+
+    private final ReviewRepository reviewRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean rebuildOnStartup;
+
+    // Без стоп-слов и стемминга: тексты на разных языках, токенизация по правилам Unicode
+    private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+
+    private final Path indexPath;
+
+    private final boolean temporaryIndex;
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    private final BackgroundRebuild backgroundRebuild = new BackgroundRebuild("review-search-rebuild");
+
+    public ReviewSearchIndex(ReviewRepository reviewRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${review.search.index-dir:}") String indexDir,
+                             @Value("${review.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                             @Value("${review.search.ram-buffer-mb:64}") double ramBufferMb) throws IOException {
+        this.reviewRepository = reviewRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.temporaryIndex = indexDir.isBlank();
+        this.indexPath = temporaryIndex ? Files.createTempDirectory("review-search") : Path.of(indexDir);
+        this.directory = FSDirectory.open(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(ramBufferMb));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Индексирует отзывы после коммита текущей транзакции (откат — без следов в индексе).
+     * Вне транзакции индексирует сразу.
+     */
+    public void indexAfterCommit(List<Review> reviews) {
+        List<Document> documents = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            documents.add(document(review.getId(), review.getOrganizationId(), review.getTitle(), review.getContent()));
+        }
+        AfterCommit.run(() -> {
+            for (Document document : documents) {
+                update(document);
+            }
+        });
+    }
+
+    public void indexAfterCommit(Review review) {
+        indexAfterCommit(List.of(review));
+    }
+
+    public void removeAfterCommit(UUID reviewId) {
+        AfterCommit.run(() -> {
+            backgroundRebuild.removed(reviewId);
+            delete(reviewId);
+        });
+    }
+
+    /**
+     * Отзывы, содержащие все слова запроса, по убыванию релевантности после {@code after}.
+     *
+     * @return до {@code limit} попаданий; пустой список, если в запросе нет ни одного слова
+     */
+    public List<SearchHit> search(String text, UUID organizationId, SearchHit after, int limit) {
+        Query query = buildQuery(text, organizationId);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Номер документа в позиции — последний из возможных: при равных (score, id) это сам
+                // отданный отзыв, его пропускаем; других совпадений по паре не бывает
+                ScoreDoc position = after == null ? null : new FieldDoc(searcher.getIndexReader().maxDoc() - 1,
+                        after.score(), new Object[]{after.score(), after.reviewId().getMostSignificantBits(),
+                        after.reviewId().getLeastSignificantBits()});
+                // Оценка и так приходит в fields[0] как первый ключ сортировки; doDocScores=true
+                // выполнил бы запрос повторно ради ScoreDoc.score
+                TopFieldDocs top = searcher.searchAfter(position, query, limit, RANK, false);
+                List<SearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+                    UUID reviewId = new UUID((Long) fieldDoc.fields[1], (Long) fieldDoc.fields[2]);
+                    hits.add(new SearchHit(reviewId, (Float) fieldDoc.fields[0]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Каждое слово обязательно: в заголовке или в тексте
+    Query buildQuery(String text, UUID organizationId) {
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(CONTENT, term)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (organizationId != null) {
+            query.add(new TermQuery(new Term(ORGANIZATION_ID, organizationId.toString())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    /**
+     * Перестройка из БД потоковым чтением (fetch size выгрузки) в фоне: приложение принимает
+     * запросы сразу, поиск до окончания перестройки видит уже проиндексированную часть.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        backgroundRebuild.startInBackground(this::rebuildNow);
+    }
+
+    public long rebuild() {
+        return backgroundRebuild.run(this::rebuildNow);
+    }
+
+    private long rebuildNow() {
+        long started = System.nanoTime();
+        Long indexed = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<ReviewView> reviews = reviewRepository.streamAll()) {
+                Iterator<ReviewView> iterator = reviews.iterator();
+                while (iterator.hasNext()) {
+                    ReviewView review = iterator.next();
+                    update(document(review.getId(), review.getOrganizationId(), review.getTitle(), review.getContent()));
+                    // Проверка после записи: удаление между проверкой и записью иначе бы потерялось
+                    if (backgroundRebuild.wasRemoved(review.getId())) {
+                        delete(review.getId());
+                        continue;
+                    }
+                    if (++count % REBUILD_REFRESH_EVERY == 0) {
+                        refresh();
+                    }
+                }
+            }
+            return count;
+        });
+        refresh();
+        log.info("Search index rebuilt: {} reviews in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+        return indexed == null ? 0 : indexed;
+    }
+
+    @Scheduled(fixedDelayString = "${review.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Для тестов: дождаться, пока поиск увидит все записанное
+    void refreshBlocking() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        if (temporaryIndex) {
+            FileSystemUtils.deleteRecursively(indexPath);
+        }
+    }
+
+    private void update(Document document) {
+        try {
+            writer.updateDocument(new Term(ID, document.get(ID)), document);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void delete(UUID reviewId) {
+        try {
+            writer.deleteDocuments(new Term(ID, reviewId.toString()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Document document(UUID id, UUID organizationId, String title, String content) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID_MSB, id.getMostSignificantBits()));
+        document.add(new NumericDocValuesField(ID_LSB, id.getLeastSignificantBits()));
+        document.add(new StringField(ORGANIZATION_ID, organizationId.toString(), Field.Store.NO));
+        document.add(new TextField(TITLE, title == null ? "" : title, Field.Store.NO));
+        document.add(new TextField(CONTENT, content == null ? "" : content, Field.Store.NO));
+        return document;
+    }
+}
@@ -0,0 +1,9 @@
+package com.practice.example.infra.search;
+
+import java.util.UUID;
+
+/**
+ * Попадание поиска: отзыв и его BM25-оценка. Пара (score, reviewId) задает позицию в выдаче.
+ */
+public record SearchHit(UUID reviewId, float score) {
+}
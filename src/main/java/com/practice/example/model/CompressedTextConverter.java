@@ -0,0 +1,139 @@
+package com.practice.example.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Текст в колонке как байты: первый байт — формат ({@link #PLAIN} или {@link #DEFLATE}), дальше тело.
+ * UTF-8 длиннее {@link #COMPRESSION_THRESHOLD} байт сжимается DEFLATE, если это действительно
+ * экономит место; короткие тексты лежат как есть, чтобы не тратить CPU на каждое чтение.
+ * Перед сжатым телом 4 байта длины исходного UTF-8: распаковка идет сразу в массив нужного размера.
+ * <p>
+ * Статические {@link #encode}/{@link #decode} нужны путям мимо JPA (нативные запросы, R2DBC).
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int COMPRESSION_THRESHOLD = 512;
+
+    // Потолок хранимого значения с учетом заголовка; для несжимаемого текста это и лимит длины
+    public static final int MAX_STORED_LENGTH = 1 << 20;
+
+    static final byte PLAIN = 0;
+
+    static final byte DEFLATE = 1;
+
+    private static final int LENGTH_BYTES = 4;
+
+    // Защита от испорченной длины: больше этого распакованный текст быть не может
+    private static final int MAX_TEXT_LENGTH = 64 * MAX_STORED_LENGTH;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return decode(dbData);
+    }
+
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > COMPRESSION_THRESHOLD) {
+            byte[] compressed = deflate(utf8);
+            if (compressed.length + LENGTH_BYTES < utf8.length) {
+                byte[] stored = new byte[1 + LENGTH_BYTES + compressed.length];
+                stored[0] = DEFLATE;
+                writeLength(stored, utf8.length);
+                System.arraycopy(compressed, 0, stored, 1 + LENGTH_BYTES, compressed.length);
+                return stored;
+            }
+        }
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            throw new IllegalArgumentException("Stored text has no format header");
+        }
+        return switch (stored[0]) {
+            case PLAIN -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(stored), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown stored text format: " + stored[0]);
+        };
+    }
+
+    private static void writeLength(byte[] stored, int length) {
+        for (int i = 0; i < LENGTH_BYTES; i++) {
+            stored[1 + i] = (byte) (length >>> (8 * (LENGTH_BYTES - 1 - i)));
+        }
+    }
+
+    private static int readLength(byte[] stored) {
+        if (stored.length < 1 + LENGTH_BYTES) {
+            throw new IllegalArgumentException("Truncated compressed text");
+        }
+        int length = 0;
+        for (int i = 0; i < LENGTH_BYTES; i++) {
+            length = (length << 8) | (stored[1 + i] & 0xFF);
+        }
+        if (length < 0 || length > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Corrupted compressed text length: " + length);
+        }
+        return length;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            // Сжатие не выгодно, если результат не меньше исходника: дальше буфер не растим
+            byte[] buffer = new byte[input.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : input;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        byte[] out = new byte[readLength(stored)];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, 1 + LENGTH_BYTES, stored.length - 1 - LENGTH_BYTES);
+            int length = 0;
+            while (length < out.length) {
+                int read = inflater.inflate(out, length, out.length - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed text");
+                }
+                length += read;
+            }
+            return out;
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupted compressed text", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.practice.example.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Неизменяемые счетчики эмодзи-реакций отзыва в двух параллельных примитивных массивах,
+ * отсортированных по code point: без боксинга и без отдельного объекта на каждую реакцию.
+ */
+public final class EmojiReactionCounts {
+
+    private static final EmojiReactionCounts EMPTY = new EmojiReactionCounts(new int[0], new int[0]);
+
+    private final int[] codePoints;
+    private final int[] counts;
+
+    private EmojiReactionCounts(int[] codePoints, int[] counts) {
+        this.codePoints = codePoints;
+        this.counts = counts;
+    }
+
+    public static EmojiReactionCounts empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param codePoints code point'ы, отсортированные по возрастанию и без повторов
+     * @param counts     счетчики в том же порядке
+     */
+    public static EmojiReactionCounts of(int[] codePoints, int[] counts) {
+        if (codePoints.length != counts.length) {
+            throw new IllegalArgumentException("codePoints and counts must have the same length");
+        }
+        if (codePoints.length == 0) {
+            return EMPTY;
+        }
+        for (int i = 1; i < codePoints.length; i++) {
+            if (codePoints[i - 1] >= codePoints[i]) {
+                throw new IllegalArgumentException("codePoints must be strictly ascending");
+            }
+        }
+        return new EmojiReactionCounts(codePoints.clone(), counts.clone());
+    }
+
+    public int size() {
+        return codePoints.length;
+    }
+
+    public boolean isEmpty() {
+        return codePoints.length == 0;
+    }
+
+    public int codePointAt(int index) {
+        return codePoints[index];
+    }
+
+    public int countAt(int index) {
+        return counts[index];
+    }
+
+    public int get(int codePoint) {
+        int index = Arrays.binarySearch(codePoints, codePoint);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    public int total() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @JsonValue
+    public Map<String, Integer> asMap() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < codePoints.length; i++) {
+            map.put(new String(Character.toChars(codePoints[i])), counts[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EmojiReactionCounts that)) return false;
+        return Arrays.equals(codePoints, that.codePoints) && Arrays.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(codePoints) + Arrays.hashCode(counts);
+    }
+}
@@ -0,0 +1,52 @@
+package com.practice.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Агрегат по организации, который поддерживается инкрементально при создании и удалении
+ * отзывов и при реакциях: чтение сводки не зависит от числа отзывов.
+ */
+@Entity
+@Table(name = "organization_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrganizationRatingStats {
+
+    @Id
+    @Column(name = "organization_id", nullable = false, unique = true)
+    private UUID organizationId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Гистограмма оценок 1-5; значения вне шкалы учитываются только в count и sum
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    @Column(name = "dislike_count", nullable = false)
+    private long dislikeCount;
+}
@@ -0,0 +1,70 @@
+package com.practice.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Событие, записанное в одной транзакции с изменением отзыва и ожидающее публикации в Kafka.
+ */
+@Entity
+@Table(name = "review_outbox", indexes = {
+        @Index(name = "idx_review_outbox_next_attempt_at_id", columnList = "next_attempt_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent implements Persistable<UUID> {
+
+    public static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    @Id
+    @Column(name = "id", nullable = false, unique = true)
+    private UUID id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    // Готовое к отправке значение сообщения (сериализуется в момент записи в outbox)
+    @Column(name = "payload", nullable = false, length = MAX_PAYLOAD_BYTES)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Раньше этого момента событие не берется в отправку: после неудачи повтор откладывается с растущей паузой
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    // Исчерпало попытки и больше не отправляется; повторить — обнулить колонку
+    @Column(name = "parked_at")
+    private Instant parkedAt;
+
+    // Идентификатор назначается при записи: без флага save() делал бы merge с SELECT на каждое событие
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -1,18 +1,57 @@
 package com.practice.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.practice.example.dto.ReviewView;
 import lombok.*;
 import jakarta.persistence.*;    // Пакеты Jakarta Persistence
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Составные индексы под keyset-пагинацию (published_at DESC, id DESC) с фильтрами
+        @Index(name = "idx_reviews_published_at_id", columnList = "published_at DESC, id DESC"),
+        @Index(name = "idx_reviews_org_published_at_id", columnList = "organization_id, published_at DESC, id DESC"),
+        @Index(name = "idx_reviews_author_published_at_id", columnList = "author_id, published_at DESC, id DESC"),
+        @Index(name = "idx_reviews_parent_published_at_id", columnList = "parent_review_id, published_at DESC, id DESC")
+})
+// Нативные запросы (рекурсивная ветка) отдают строки сразу в ReviewView; типы колонок заданы явно,
+// иначе published_at приходит из драйвера не как Instant. content приходит хранимыми байтами
+@SqlResultSetMapping(name = Review.VIEW_MAPPING, classes = @ConstructorResult(targetClass = ReviewView.class, columns = {
+        @ColumnResult(name = "id", type = UUID.class),
+        @ColumnResult(name = "author_id", type = UUID.class),
+        @ColumnResult(name = "organization_id", type = UUID.class),
+        @ColumnResult(name = "title", type = String.class),
+        @ColumnResult(name = "content", type = byte[].class),
+        @ColumnResult(name = "parent_review_id", type = UUID.class),
+        @ColumnResult(name = "published_at", type = Instant.class),
+        @ColumnResult(name = "rating_value", type = Integer.class),
+        @ColumnResult(name = "like_count", type = Integer.class),
+        @ColumnResult(name = "dislike_count", type = Integer.class)
+}))
+// Кэш второго уровня (профиль prod, регион в review-cache.conf). Тело отзыва в кэш не попадает:
+// запись остается маленькой, а лимит региона по числу записей ограничивает и занятую кучу
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Review.CACHE_REGION, includeLazy = false)
+// Отзыв, уже загруженный в контекст как чей-то родитель, запрос выдачи возвращает тем же прокси-объектом
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Review {
+public class Review implements Persistable<UUID> {
+
+    public static final String VIEW_MAPPING = "ReviewView";
+
+    public static final String CACHE_REGION = "review";
+
+    public static final int PREVIEW_LENGTH = 200;
 
     @Id
     @Column(name = "id", nullable = false, unique = true)
@@ -27,10 +66,24 @@ public class Review {
     @Column(name = "title", nullable = false)
     private String title;
 
-    @Column(name = "content", columnDefinition = "TEXT")
+    // Тело отзыва ленивое (bytecode enhancement): поиск по id, блокировка при удалении и ссылка
+    // на родителя его не читают. Длинные тексты хранятся сжатыми, см. CompressedTextConverter
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content", length = CompressedTextConverter.MAX_STORED_LENGTH)
     private String content;
 
+    // Начало текста для выдачи списком; для коротких отзывов совпадает с content
+    @JsonIgnore
+    @Column(name = "content_preview", length = PREVIEW_LENGTH)
+    private String contentPreview;
+
+    @JsonIgnore
+    @Column(name = "content_truncated", nullable = false)
+    private boolean contentTruncated;
+
     // Ответ на другой отзыв (self-join)
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_review_id")
     private Review parentReview;
@@ -47,6 +100,48 @@ public class Review {
     @Column(name = "dislike_count", nullable = false)
     private int dislikeCount = 0;
 
+    // Идентификатор назначает приложение, поэтому новизну отслеживаем сами: иначе save()
+    // уходит в merge с лишним SELECT на каждую строку и JDBC-батчинг вставок не работает
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    // В JSON только идентификатор родителя: ленивый прокси Jackson сериализовать не может,
+    // а его инициализация стоила бы запроса на каждый ответ в выдаче. getId() прокси не инициализирует
+    @JsonProperty("parentReviewId")
+    public UUID getParentReviewId() {
+        return parentReview == null ? null : parentReview.getId();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    // Текст отзыва после создания не меняется, поэтому превью считается один раз при вставке
+    @PrePersist
+    void fillContentPreview() {
+        contentTruncated = content != null && content.length() > PREVIEW_LENGTH;
+        contentPreview = contentTruncated ? preview(content) : content;
+    }
+
+    // Обрезка по границе code point: суррогатная пара не разрывается. Нужна и миграции V3
+    public static String preview(String content) {
+        int end = PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
+
     // Конструктор без parentReview, если нужно
     public Review(UUID id,
                   UUID authorId,
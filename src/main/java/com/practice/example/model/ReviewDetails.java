@@ -1,28 +1,47 @@
 package com.practice.example.model;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
 
-@RequiredArgsConstructor
 @Getter
 @Builder
 public class ReviewDetails {
+
+    private static final ReviewReactions.Type[] REACTION_TYPES = ReviewReactions.Type.values();
+
     private final UUID id;
     private final UUID authorId;
     private final UUID organizationId;
     private final String title;
     private final String content;
-    private final Map<ReviewReactions.Type, Integer> reactions = new EnumMap<>(ReviewReactions.Type.class);
+
+    // Счетчики по Type.ordinal(): инкремент без монитора и без боксинга, наружу отдается только снимок
+    @Getter(AccessLevel.NONE)
+    private final AtomicLongArray reactionCounts = new AtomicLongArray(REACTION_TYPES.length);
     private final Optional<UUID> parentReviewId;
     private final Instant publishedAt;
-    private ReviewRating rating;
+    private volatile ReviewRating rating;
+    private EmojiReactionCounts emojiReactions;
+
+    // Без оценки и эмодзи: через полный конструктор, чтобы emojiReactions не остался null
+    public ReviewDetails(UUID id,
+                         UUID authorId,
+                         UUID organizationId,
+                         String title,
+                         String content,
+                         Optional<UUID> parentReviewId,
+                         Instant publishedAt) {
+        this(id, authorId, organizationId, title, content, parentReviewId, publishedAt, null, null);
+    }
 
     public ReviewDetails(UUID id,
                          UUID authorId,
@@ -31,7 +50,8 @@ public class ReviewDetails {
                          String content,
                          Optional<UUID> parentReviewId,
                          Instant publishedAt,
-                         ReviewRating rating) {
+                         ReviewRating rating,
+                         EmojiReactionCounts emojiReactions) {
         this.id = id;
         this.authorId = authorId;
         this.organizationId = organizationId;
@@ -40,21 +60,45 @@ public class ReviewDetails {
         this.parentReviewId = parentReviewId;
         this.publishedAt = publishedAt;
         this.rating = rating;
-        reactions.put(ReviewReactions.Type.LIKE, 0);
-        reactions.put(ReviewReactions.Type.DISLIKE, 0);
+        this.emojiReactions = emojiReactions == null ? EmojiReactionCounts.empty() : emojiReactions;
+        reactionCounts.set(ReviewReactions.Type.EMOJI.ordinal(), this.emojiReactions.total());
     }
 
-    public synchronized void addReaction(ReviewReactions.Type reactionType) {
-        reactions.merge(reactionType, 1, Integer::sum);
+    public void addReaction(ReviewReactions.Type reactionType) {
+        reactionCounts.incrementAndGet(reactionType.ordinal());
     }
 
-    public synchronized void addReaction(ReviewReactions.Type reactionType, int amount) {
-        reactions.merge(reactionType, amount, Integer::sum);
+    public void addReaction(ReviewReactions.Type reactionType, int amount) {
+        reactionCounts.addAndGet(reactionType.ordinal(), amount);
     }
 
-    public synchronized void setRating(ReviewRating newRating) {
+    public void setRating(ReviewRating newRating) {
         this.rating = newRating;
     }
 
+    // Форматы событий и API хранят счетчики в int, поэтому значение насыщается, а не переполняется
+    public int getReactionCount(ReviewReactions.Type reactionType) {
+        return saturatedInt(reactionCounts.get(reactionType.ordinal()));
+    }
+
+    /**
+     * Неизменяемый снимок счетчиков для сериализации. Каждое значение читается атомарно,
+     * но снимок в целом не согласован с параллельными инкрементами других типов.
+     */
+    public Map<ReviewReactions.Type, Integer> getReactions() {
+        Map<ReviewReactions.Type, Integer> snapshot = new EnumMap<>(ReviewReactions.Type.class);
+        for (ReviewReactions.Type type : REACTION_TYPES) {
+            snapshot.put(type, saturatedInt(reactionCounts.get(type.ordinal())));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    // Разбивка по конкретным эмодзи; в reactions под EMOJI лежит только их сумма
+    public EmojiReactionCounts getEmojiReactions() {
+        return emojiReactions == null ? EmojiReactionCounts.empty() : emojiReactions;
+    }
 
+    private static int saturatedInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.practice.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Агрегированный счетчик одной эмодзи-реакции отзыва: одна строка на пару (review_id, code_point).
+ */
+@Entity
+@Table(name = "review_emoji_reactions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewEmojiReaction {
+
+    @EmbeddedId
+    private Key id;
+
+    // Удаление отзыва каскадно чистит его реакции на стороне БД
+    @MapsId("reviewId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "review_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Review review;
+
+    @Column(name = "reaction_count", nullable = false)
+    private int count;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "review_id", nullable = false)
+        private UUID reviewId;
+
+        @Column(name = "code_point", nullable = false)
+        private int codePoint;
+    }
+}
@@ -1,7 +1,6 @@
 package com.practice.example.model;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 @Getter
 public class ReviewReactions {
@@ -10,10 +9,13 @@ public class ReviewReactions {
         LIKE, DISLIKE, EMOJI
     }
 
-    private final char value;
+    private static final int VARIATION_SELECTOR_16 = 0xFE0F;
+
+    // Code point: для эмодзи за пределами BMP одного char недостаточно
+    private final int value;
     private final Type type;
 
-    private ReviewReactions(char value, Type type) {
+    private ReviewReactions(int value, Type type) {
         this.value = value;
         this.type = type;
     }
@@ -33,12 +35,39 @@ public class ReviewReactions {
         return DISLIKE_INSTANCE;
     }
 
+    public static ReviewReactions emoji(int codePoint) {
+        if (!isEmoji(codePoint)) {
+            throw new IllegalArgumentException("Unknown reaction: " + new String(Character.toChars(codePoint)));
+        }
+        return new ReviewReactions(codePoint, Type.EMOJI);
+    }
+
     public static ReviewReactions fromString(String name) {
         return switch (name.toUpperCase()) {
             case "LIKE" -> like();
             case "DISLIKE" -> dislike();
-            default -> throw new IllegalArgumentException("Unknown reaction: " + name);
+            default -> emoji(singleCodePoint(name));
         };
     }
 
-}
\ No newline at end of file
+    public static boolean isEmoji(int codePoint) {
+        return Character.isValidCodePoint(codePoint) && Character.getType(codePoint) == Character.OTHER_SYMBOL;
+    }
+
+    /**
+     * Ключ реакции в событиях и ответах API: LIKE/DISLIKE или сам символ эмодзи.
+     */
+    public String asString() {
+        return type == Type.EMOJI ? new String(Character.toChars(value)) : type.name();
+    }
+
+    private static int singleCodePoint(String raw) {
+        // "❤️" приходит как U+2764 U+FE0F: селектор варианта на смысл реакции не влияет
+        int[] codePoints = raw.codePoints().filter(cp -> cp != VARIATION_SELECTOR_16).toArray();
+        if (codePoints.length != 1) {
+            throw new IllegalArgumentException("Unknown reaction: " + raw);
+        }
+        return codePoints[0];
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.practice.example.reactive;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+
+/**
+ * Вызов блокирующих сервисов (JPA, транзакции привязаны к потоку) из реактивных обработчиков.
+ * Вызов уходит на boundedElastic, чтобы не занимать event loop, а исключения переводятся в те же
+ * коды ответа, что и в MVC-контроллерах.
+ */
+final class BlockingCalls {
+
+    private BlockingCalls() {
+    }
+
+    static <T> Mono<ResponseEntity<T>> respond(Callable<ResponseEntity<T>> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(NoSuchElementException.class, ex -> Mono.just(ResponseEntity.notFound().build()))
+                .onErrorResume(IllegalArgumentException.class, ex -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+}
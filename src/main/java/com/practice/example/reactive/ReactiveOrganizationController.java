@@ -0,0 +1,45 @@
+package com.practice.example.reactive;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.OrganizationRatingSummary;
+import com.practice.example.service.HelpfulReviewRanking;
+import com.practice.example.service.OrganizationStatsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/organizations")
+public class ReactiveOrganizationController {
+
+    private final OrganizationStatsService organizationStatsService;
+
+    private final HelpfulReviewRanking helpfulReviewRanking;
+
+    public ReactiveOrganizationController(OrganizationStatsService organizationStatsService,
+                                             HelpfulReviewRanking helpfulReviewRanking) {
+        this.organizationStatsService = organizationStatsService;
+        this.helpfulReviewRanking = helpfulReviewRanking;
+    }
+
+    @GetMapping("/{id}/rating-summary")
+    public Mono<ResponseEntity<OrganizationRatingSummary>> getRatingSummary(@PathVariable("id") UUID organizationId) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(organizationStatsService.getRatingSummary(organizationId)));
+    }
+
+    @GetMapping("/{id}/helpful-reviews")
+    public Mono<ResponseEntity<List<HelpfulReview>>> getMostHelpful(@PathVariable("id") UUID organizationId,
+                                                                    @RequestParam(value = "limit", defaultValue = "" + HelpfulReviewRanking.DEFAULT_LIMIT) int limit) {
+        // Обычно чтение из памяти, но изредка доска перечитывается из БД
+        return BlockingCalls.respond(() -> ResponseEntity.ok(helpfulReviewRanking.getMostHelpful(organizationId, limit)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.practice.example.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Реактивный вариант API включается {@code spring.main.web-application-type=reactive} (профиль reactive).
+ * <p>
+ * Пул R2DBC-соединений не публикуется бином {@code ConnectionFactory}: при его наличии Spring Boot
+ * не создает JDBC {@code DataSource}, а на нем остаются JPA, outbox и статистика организаций.
+ * По той же причине {@code R2dbcAutoConfiguration} исключена в application.properties.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReviewConfiguration {
+
+    @Bean
+    public ReactiveReviewRepository reactiveReviewRepository(
+            @Value("${review.reactive.r2dbc.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${review.reactive.r2dbc.pool.max-size:20}") int maxPoolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build());
+        return new ReactiveReviewRepository(pool);
+    }
+}
@@ -0,0 +1,167 @@
+package com.practice.example.reactive;
+
+import com.practice.example.dto.AddReactionRequest;
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.dto.CreateReviewRequest;
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewThread;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.ReviewFilter;
+import com.practice.example.service.ReviewIngestService;
+import com.practice.example.service.ReviewService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Те же эндпоинты {@code /reviews} и тот же JSON, что и в MVC-варианте: страница и поток отдают
+ * {@link ReviewView}, выгрузка — {@link ReviewDetails}. Списки и выгрузка читаются через R2DBC
+ * и отдаются потоком; запись и чтение отдельного отзыва идут через общие {@link ReviewService} и
+ * {@link ReviewIngestService}, чтобы статистика, outbox и кэш обновлялись в одной JPA-транзакции.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/reviews")
+public class ReactiveReviewController {
+
+    // Сколько буферов тела запроса читать наперед при массовой загрузке
+    private static final int BULK_PREFETCH = 16;
+
+    private final ReviewService reviewService;
+
+    private final ReviewIngestService reviewIngestService;
+
+    private final ReactiveReviewReader reactiveReviewReader;
+
+    public ReactiveReviewController(ReviewService reviewService,
+                                    ReviewIngestService reviewIngestService,
+                                    ReactiveReviewReader reactiveReviewReader) {
+        this.reviewService = reviewService;
+        this.reviewIngestService = reviewIngestService;
+        this.reactiveReviewReader = reactiveReviewReader;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Review>> createReview(@RequestBody CreateReviewRequest request) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(reviewService.createReview(
+                request.getAuthorId(),
+                request.getOrganizationId(),
+                request.getTitle(),
+                request.getContent(),
+                request.getParentReviewId(),
+                request.getRatingValue()
+        )));
+    }
+
+    @PostMapping("/{id}/reply")
+    public Mono<ResponseEntity<Review>> replyToReview(@PathVariable("id") UUID reviewId,
+                                                      @RequestBody CreateReviewRequest request) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(reviewService.createReview(
+                request.getAuthorId(),
+                request.getOrganizationId(),
+                request.getTitle(),
+                request.getContent(),
+                reviewId,
+                request.getRatingValue()
+        )));
+    }
+
+    @PostMapping("/{id}/reactions")
+    public Mono<ResponseEntity<ReviewReactionCounts>> addReaction(@PathVariable("id") UUID reviewId,
+                                                                  @RequestBody AddReactionRequest request) {
+        return BlockingCalls.respond(() ->
+                ResponseEntity.ok(reviewService.addReaction(reviewId, request.getReactionType())));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ReviewPage<ReviewView>>> getReviews(@RequestParam(value = "organizationId", required = false) UUID organizationId,
+                                                                   @RequestParam(value = "authorId", required = false) UUID authorId,
+                                                                   @RequestParam(value = "parentReviewId", required = false) UUID parentReviewId,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit,
+                                                                   @RequestParam(value = "preview", defaultValue = "false") boolean preview) {
+        ReviewCursor after;
+        try {
+            after = decodeCursor(cursor);
+        } catch (IllegalArgumentException ex) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return reactiveReviewReader.getPage(new ReviewFilter(organizationId, authorId, parentReviewId), after, limit, preview)
+                .map(ResponseEntity::ok);
+    }
+
+    // NDJSON: все отзывы после курсора одним потоком, по строке на отзыв
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<ReviewView>> streamReviews(@RequestParam(value = "organizationId", required = false) UUID organizationId,
+                                                          @RequestParam(value = "authorId", required = false) UUID authorId,
+                                                          @RequestParam(value = "parentReviewId", required = false) UUID parentReviewId,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "preview", defaultValue = "false") boolean preview) {
+        try {
+            return ResponseEntity.ok(reactiveReviewReader.stream(
+                    new ReviewFilter(organizationId, authorId, parentReviewId), decodeCursor(cursor), preview));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Полнотекстовый поиск идет через Lucene и JPA, поэтому, как и в MVC, блокирующим вызовом
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ReviewPage<ReviewView>>> search(@RequestParam("q") String query,
+                                                               @RequestParam(value = "organizationId", required = false) UUID organizationId,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int limit) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(reviewService.search(query, organizationId, cursor, limit)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReviewDetails> exportReviews() {
+        return reactiveReviewReader.exportAll();
+    }
+
+    // Тело читается потоком: ReviewIngestService получает InputStream поверх приходящих буферов
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkIngestResult>> ingest(@RequestBody Flux<DataBuffer> body) {
+        return BlockingCalls.respond(() -> {
+            try (InputStream input = DataBufferUtils.subscriberInputStream(body, BULK_PREFETCH)) {
+                return ResponseEntity.ok(reviewIngestService.ingest(input));
+            }
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ReviewDetails>> getReview(@PathVariable("id") UUID reviewId) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(reviewService.getReview(reviewId)));
+    }
+
+    @GetMapping("/{id}/thread")
+    public Mono<ResponseEntity<ReviewThread>> getThread(@PathVariable("id") UUID reviewId,
+                                                        @RequestParam(value = "depth", defaultValue = "" + ReviewService.MAX_THREAD_DEPTH) int depth,
+                                                        @RequestParam(value = "limit", defaultValue = "" + ReviewService.DEFAULT_THREAD_SIZE) int limit) {
+        return BlockingCalls.respond(() -> ResponseEntity.ok(reviewService.getThread(reviewId, depth, limit)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteReview(@PathVariable("id") UUID reviewId) {
+        return BlockingCalls.respond(() -> {
+            reviewService.deleteReview(reviewId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    private static ReviewCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : ReviewCursor.decode(cursor);
+    }
+}
@@ -0,0 +1,85 @@
+package com.practice.example.reactive;
+
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.ReviewFilter;
+import com.practice.example.repository.ReviewRepository;
+import com.practice.example.service.ReviewDetailsProvider;
+import com.practice.example.service.ReviewExportService;
+import com.practice.example.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Списки и выгрузка для реактивного API. Списки отдают {@link ReviewView}, как MVC-вариант
+ * {@code GET /reviews}; выгрузка собирает {@link ReviewDetails} пачками: эмодзи-реакции пачки
+ * приходят одним IN-запросом, как в {@link ReviewExportService}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveReviewReader {
+
+    static final int BATCH_SIZE = ReviewRepository.FETCH_SIZE;
+
+    private final ReactiveReviewRepository reactiveReviewRepository;
+
+    private final ReviewDetailsProvider reviewDetailsProvider;
+
+    /**
+     * Страница в формате MVC-варианта {@code GET /reviews}: не больше {@link ReviewService#MAX_PAGE_SIZE} отзывов.
+     */
+    public Mono<ReviewPage<ReviewView>> getPage(ReviewFilter filter, ReviewCursor after, int limit, boolean preview) {
+        int pageSize = Math.min(Math.max(limit, 1), ReviewService.MAX_PAGE_SIZE);
+        // Запрашиваем на одну запись больше, чтобы понять, есть ли следующая страница
+        return reactiveReviewRepository.findPage(filter, after, pageSize + 1, preview)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new ReviewPage<>(rows, null);
+                    }
+                    List<ReviewView> items = rows.subList(0, pageSize);
+                    return new ReviewPage<>(items, ReviewCursor.of(items.get(pageSize - 1)).encode());
+                });
+    }
+
+    /**
+     * Все отзывы после курсора без ограничения размера: клиент читает сколько нужно и закрывает соединение.
+     */
+    public Flux<ReviewView> stream(ReviewFilter filter, ReviewCursor after, boolean preview) {
+        return reactiveReviewRepository.findPage(filter, after, 0, preview);
+    }
+
+    public Flux<ReviewDetails> exportAll() {
+        return withDetails(reactiveReviewRepository.findAll());
+    }
+
+    private Flux<ReviewDetails> withDetails(Flux<ReviewView> reviews) {
+        return reviews.buffer(BATCH_SIZE).concatMap(batch -> {
+            List<UUID> ids = new ArrayList<>(batch.size());
+            for (ReviewView review : batch) {
+                ids.add(review.getId());
+            }
+            return reactiveReviewRepository.findEmojiRows(ids).collectList().flatMapIterable(rows -> {
+                Map<UUID, EmojiReactionCounts> emoji = reviewDetailsProvider.groupEmojiReactionCounts(rows);
+                List<ReviewDetails> details = new ArrayList<>(batch.size());
+                for (ReviewView review : batch) {
+                    details.add(reviewDetailsProvider.getDetailsTo(review,
+                            emoji.getOrDefault(review.getId(), EmojiReactionCounts.empty())));
+                }
+                return details;
+            });
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.practice.example.reactive;
+
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.CompressedTextConverter;
+import com.practice.example.repository.EmojiReactionRow;
+import com.practice.example.repository.ReviewFilter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Чтение отзывов через R2DBC: строки приходят по мере запроса подписчика, без потока на запрос.
+ * Запросы повторяют {@code ReviewRepositoryCustomImpl#findPage}, чтобы попадать в те же
+ * составные индексы (фильтр, published_at, id).
+ */
+public class ReactiveReviewRepository implements DisposableBean {
+
+    private static final String COLUMNS = "id, author_id, organization_id, title, content, parent_review_id, "
+            + "published_at, rating_value, like_count, dislike_count";
+
+    // Для превью тело отзыва не читается вовсе, как в ReviewRepository#SELECT_PREVIEW
+    private static final String PREVIEW_COLUMNS = "id, author_id, organization_id, title, content_preview, "
+            + "content_truncated, parent_review_id, published_at, rating_value, like_count, dislike_count";
+
+    private final ConnectionPool connectionPool;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReviewRepository(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Отзывы в порядке (published_at DESC, id DESC) после курсора; {@code limit <= 0} — без ограничения.
+     * Строки сразу собираются в {@link ReviewView}, как в {@code ReviewRepository#findPage}; при
+     * {@code preview} вместо полного текста отдается его начало.
+     */
+    public Flux<ReviewView> findPage(ReviewFilter filter, ReviewCursor after, int limit, boolean preview) {
+        StringBuilder sql = new StringBuilder("select ").append(preview ? PREVIEW_COLUMNS : COLUMNS)
+                .append(" from reviews where 1 = 1");
+        if (filter.getOrganizationId() != null) {
+            sql.append(" and organization_id = :organizationId");
+        }
+        if (filter.getAuthorId() != null) {
+            sql.append(" and author_id = :authorId");
+        }
+        if (filter.getParentReviewId() != null) {
+            sql.append(" and parent_review_id = :parentReviewId");
+        }
+        if (after != null) {
+            sql.append(" and (published_at < :publishedAt or (published_at = :publishedAt and id < :id))");
+        }
+        sql.append(" order by published_at desc, id desc");
+        if (limit > 0) {
+            sql.append(" limit :limit");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (filter.getOrganizationId() != null) {
+            spec = spec.bind("organizationId", filter.getOrganizationId());
+        }
+        if (filter.getAuthorId() != null) {
+            spec = spec.bind("authorId", filter.getAuthorId());
+        }
+        if (filter.getParentReviewId() != null) {
+            spec = spec.bind("parentReviewId", filter.getParentReviewId());
+        }
+        if (after != null) {
+            spec = spec.bind("publishedAt", after.getPublishedAt()).bind("id", after.getId());
+        }
+        if (limit > 0) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map((row, metadata) -> preview ? toPreview(row) : toView(row)).all();
+    }
+
+    public Flux<ReviewView> findAll() {
+        return findPage(ReviewFilter.none(), null, 0, false);
+    }
+
+    // Строки упорядочены по (review_id, code_point), как ожидает ReviewDetailsProvider#groupEmojiReactionCounts
+    public Flux<EmojiReactionRow> findEmojiRows(Collection<UUID> reviewIds) {
+        return databaseClient.sql("select review_id, code_point, reaction_count from review_emoji_reactions "
+                        + "where review_id in (:reviewIds) order by review_id, code_point")
+                .bind("reviewIds", reviewIds)
+                .map((row, metadata) -> new EmojiReactionRow(row.get("review_id", UUID.class),
+                        row.get("code_point", Integer.class), row.get("reaction_count", Integer.class)))
+                .all();
+    }
+
+    private static ReviewView toView(Row row) {
+        return new ReviewView(
+                row.get("id", UUID.class),
+                row.get("author_id", UUID.class),
+                row.get("organization_id", UUID.class),
+                row.get("title", String.class),
+                CompressedTextConverter.decode(row.get("content", byte[].class)),
+                row.get("parent_review_id", UUID.class),
+                row.get("published_at", Instant.class),
+                row.get("rating_value", Integer.class),
+                row.get("like_count", Integer.class),
+                row.get("dislike_count", Integer.class));
+    }
+
+    private static ReviewView toPreview(Row row) {
+        return new ReviewView(
+                row.get("id", UUID.class),
+                row.get("author_id", UUID.class),
+                row.get("organization_id", UUID.class),
+                row.get("title", String.class),
+                row.get("content_preview", String.class),
+                Boolean.TRUE.equals(row.get("content_truncated", Boolean.class)),
+                row.get("parent_review_id", UUID.class),
+                row.get("published_at", Instant.class),
+                row.get("rating_value", Integer.class),
+                row.get("like_count", Integer.class),
+                row.get("dislike_count", Integer.class));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
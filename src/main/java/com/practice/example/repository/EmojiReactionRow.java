@@ -0,0 +1,14 @@
+package com.practice.example.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class EmojiReactionRow {
+    private final UUID reviewId;
+    private final int codePoint;
+    private final int count;
+}
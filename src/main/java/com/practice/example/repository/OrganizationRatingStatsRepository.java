@@ -0,0 +1,61 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.OrganizationRatingStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OrganizationRatingStatsRepository extends JpaRepository<OrganizationRatingStats, UUID> {
+
+    // Изменяемая таблица нативных запросов: без нее Hibernate сбрасывал бы весь кэш второго уровня
+    String SPACE = "organization_rating_stats";
+
+    // Атомарный инкремент агрегата: reviews = +1 при создании отзыва, -1 при удалении (вместе с его реакциями)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SPACE))
+    @Query(value = """
+            UPDATE organization_rating_stats SET
+                review_count = review_count + :reviews,
+                rating_sum = rating_sum + :reviews * :rating,
+                rating_1 = rating_1 + CASE WHEN :rating = 1 THEN :reviews ELSE 0 END,
+                rating_2 = rating_2 + CASE WHEN :rating = 2 THEN :reviews ELSE 0 END,
+                rating_3 = rating_3 + CASE WHEN :rating = 3 THEN :reviews ELSE 0 END,
+                rating_4 = rating_4 + CASE WHEN :rating = 4 THEN :reviews ELSE 0 END,
+                rating_5 = rating_5 + CASE WHEN :rating = 5 THEN :reviews ELSE 0 END,
+                like_count = like_count + :likes,
+                dislike_count = dislike_count + :dislikes
+            WHERE organization_id = :organizationId
+            """, nativeQuery = true)
+    int applyReview(@Param("organizationId") UUID organizationId,
+                    @Param("reviews") int reviews,
+                    @Param("rating") int rating,
+                    @Param("likes") int likes,
+                    @Param("dislikes") int dislikes);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SPACE))
+    @Query(value = """
+            INSERT INTO organization_rating_stats (organization_id, review_count, rating_sum,
+                rating_1, rating_2, rating_3, rating_4, rating_5, like_count, dislike_count)
+            VALUES (:organizationId, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+            """, nativeQuery = true)
+    void insertEmpty(@Param("organizationId") UUID organizationId);
+
+    // Организация берется из самого отзыва подзапросом, без отдельного чтения
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SPACE))
+    @Query(value = """
+            UPDATE organization_rating_stats
+            SET like_count = like_count + :likes, dislike_count = dislike_count + :dislikes
+            WHERE organization_id = (SELECT organization_id FROM reviews WHERE id = :reviewId)
+            """, nativeQuery = true)
+    int incrementReactions(@Param("reviewId") UUID reviewId, @Param("likes") int likes, @Param("dislikes") int dislikes);
+}
@@ -0,0 +1,54 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Строки, уже взятые другим релеем, пропускаются: несколько воркеров разбирают очередь параллельно.
+    // Отложенные до следующей попытки и отложенные навсегда (parked) события в пачку не попадают
+    @Query(value = "select * from review_outbox where parked_at is null and next_attempt_at <= :now " +
+            "order by next_attempt_at, id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    // Аренда взятой пачки на время отправки: до leasedUntil события не возьмет другой релей,
+    // поэтому блокировки строк снимаются сразу, не дожидаясь ответа брокера
+    @Modifying
+    @Query("update OutboxEvent e set e.nextAttemptAt = :leasedUntil where e.id in :ids")
+    int lease(@Param("ids") Collection<UUID> ids, @Param("leasedUntil") Instant leasedUntil);
+
+    // Изменения по итогам отправки применяются, только пока аренда наша: если она истекла и событие
+    // взял другой релей, его расписание не трогаем
+    @Modifying
+    @Query("update OutboxEvent e set e.nextAttemptAt = :nextAttemptAt " +
+            "where e.id in :ids and e.nextAttemptAt = :leasedUntil")
+    int release(@Param("ids") Collection<UUID> ids, @Param("leasedUntil") Instant leasedUntil,
+                @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt " +
+            "where e.id in :ids and e.nextAttemptAt = :leasedUntil")
+    int scheduleRetry(@Param("ids") Collection<UUID> ids, @Param("leasedUntil") Instant leasedUntil,
+                      @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.parkedAt = :parkedAt " +
+            "where e.id in :ids and e.nextAttemptAt = :leasedUntil")
+    int park(@Param("ids") Collection<UUID> ids, @Param("leasedUntil") Instant leasedUntil,
+             @Param("parkedAt") Instant parkedAt);
+}
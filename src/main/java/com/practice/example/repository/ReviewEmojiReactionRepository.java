@@ -0,0 +1,25 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.ReviewEmojiReaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReviewEmojiReactionRepository extends JpaRepository<ReviewEmojiReaction, ReviewEmojiReaction.Key>,
+        ReviewEmojiReactionRepositoryCustom {
+
+    @Query("select new com.practice.example.repository.EmojiReactionRow(e.id.reviewId, e.id.codePoint, e.count) " +
+            "from ReviewEmojiReaction e where e.id.reviewId = :reviewId order by e.id.codePoint")
+    List<EmojiReactionRow> findRowsByReviewId(@Param("reviewId") UUID reviewId);
+
+    // Одним запросом на пачку отзывов, чтобы чтение не разваливалось в N запросов
+    @Query("select new com.practice.example.repository.EmojiReactionRow(e.id.reviewId, e.id.codePoint, e.count) " +
+            "from ReviewEmojiReaction e where e.id.reviewId in :reviewIds order by e.id.reviewId, e.id.codePoint")
+    List<EmojiReactionRow> findRowsByReviewIds(@Param("reviewIds") Collection<UUID> reviewIds);
+}
@@ -0,0 +1,12 @@
+package com.practice.example.repository;
+
+import java.util.UUID;
+
+public interface ReviewEmojiReactionRepositoryCustom {
+
+    /**
+     * Атомарно прибавляет {@code amount} к счетчику эмодзи {@code codePoint} отзыва, создавая строку
+     * при первой реакции. Безопасно для параллельных первых реакций на одну и ту же пару.
+     */
+    int increment(UUID reviewId, int codePoint, int amount);
+}
@@ -0,0 +1,62 @@
+package com.practice.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.UUID;
+
+public class ReviewEmojiReactionRepositoryCustomImpl implements ReviewEmojiReactionRepositoryCustom {
+
+    // PostgreSQL: MERGE не берет блокировку на отсутствующий ключ, и из двух параллельных первых реакций
+    // одна упала бы на уникальном ключе. ON CONFLICT дожидается конкурента и обновляет его строку
+    static final String POSTGRES_UPSERT = """
+            INSERT INTO review_emoji_reactions (review_id, code_point, reaction_count)
+            VALUES (:reviewId, :codePoint, :amount)
+            ON CONFLICT (review_id, code_point)
+            DO UPDATE SET reaction_count = review_emoji_reactions.reaction_count + EXCLUDED.reaction_count
+            """;
+
+    // Остальные базы (H2 в разработке и тестах): стандартный MERGE
+    static final String MERGE_UPSERT = """
+            MERGE INTO review_emoji_reactions t
+            USING (VALUES (CAST(:reviewId AS UUID), :codePoint, :amount)) AS s(review_id, code_point, amount)
+            ON t.review_id = s.review_id AND t.code_point = s.code_point
+            WHEN MATCHED THEN UPDATE SET reaction_count = t.reaction_count + s.amount
+            WHEN NOT MATCHED THEN INSERT (review_id, code_point, reaction_count)
+                VALUES (s.review_id, s.code_point, s.amount)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsertSql;
+
+    @Override
+    public int increment(UUID reviewId, int codePoint, int amount) {
+        // Пространство — изменяемая таблица: без него Hibernate сбрасывал бы весь кэш второго уровня
+        return entityManager.createNativeQuery(upsertSql())
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "review_emoji_reactions")
+                .setParameter("reviewId", reviewId)
+                .setParameter("codePoint", codePoint)
+                .setParameter("amount", amount)
+                .executeUpdate();
+    }
+
+    static String upsertSql(Dialect dialect) {
+        return dialect instanceof PostgreSQLDialect ? POSTGRES_UPSERT : MERGE_UPSERT;
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            sql = upsertSql(entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
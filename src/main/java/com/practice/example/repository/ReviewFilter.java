@@ -0,0 +1,18 @@
+package com.practice.example.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class ReviewFilter {
+    private final UUID organizationId;
+    private final UUID authorId;
+    private final UUID parentReviewId;
+
+    public static ReviewFilter none() {
+        return new ReviewFilter(null, null, null);
+    }
+}
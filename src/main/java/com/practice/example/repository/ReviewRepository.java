@@ -1,12 +1,118 @@
 package com.practice.example.repository;
 
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewView;
 import com.practice.example.model.Review;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, UUID> {
+public interface ReviewRepository extends JpaRepository<Review, UUID>, ReviewRepositoryCustom {
 
+    // Размер порции курсорных запросов (streamAll и кандидаты рейтинга); по нему же режут пачки вызывающие
+    int FETCH_SIZE = 500;
+
+    // Проекция для чтения: r.parentReview.id берется из колонки parent_review_id без join и без прокси
+    String SELECT_VIEW = "select new com.practice.example.dto.ReviewView(r.id, r.authorId, r.organizationId, " +
+            "r.title, r.content, r.parentReview.id, r.publishedAt, r.ratingValue, r.likeCount, r.dislikeCount) " +
+            "from Review r";
+
+    // То же с превью вместо полного текста: тело отзыва из строки не читается вовсе
+    String SELECT_PREVIEW = "select new com.practice.example.dto.ReviewView(r.id, r.authorId, r.organizationId, " +
+            "r.title, r.contentPreview, r.contentTruncated, r.parentReview.id, r.publishedAt, r.ratingValue, " +
+            "r.likeCount, r.dislikeCount) from Review r";
+
+    String SELECT_HELPFULNESS = "select new com.practice.example.dto.ReviewHelpfulness(r.id, r.organizationId, " +
+            "r.publishedAt, r.likeCount, r.dislikeCount) from Review r";
+
+    // Курсорное чтение всей таблицы: драйвер отдает строки порциями по fetch size,
+    // проекция не попадает в контекст персистентности, поэтому память не растет
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE))
+    @Query(SELECT_VIEW + " order by r.publishedAt, r.id")
+    Stream<ReviewView> streamAll();
+
+    @Query(SELECT_VIEW + " where r.id = :id")
+    Optional<ReviewView> findViewById(@Param("id") UUID id);
+
+    // Гидратация поисковой выдачи: превью найденных отзывов одним IN, порядок задает вызывающий
+    @Query(SELECT_PREVIEW + " where r.id in :ids")
+    List<ReviewView> findPreviewsByIds(@Param("ids") Collection<UUID> ids);
+
+    // Проверка в отдельной транзакции: после ошибки вставки текущая в PostgreSQL уже не выполняет запросов,
+    // а сессия Hibernate повторила бы неудавшийся flush
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("select count(r) > 0 from Review r where r.id = :id")
+    boolean existsByIdInNewTransaction(@Param("id") UUID id);
+
+    @Query(SELECT_HELPFULNESS + " where r.id = :id")
+    Optional<ReviewHelpfulness> findHelpfulnessById(@Param("id") UUID id);
+
+    // Кандидаты в рейтинг полезных: без единого лайка отзыв в рейтинг не попадает
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE))
+    @Query(SELECT_HELPFULNESS + " where r.likeCount > 0")
+    Stream<ReviewHelpfulness> streamHelpfulnessCandidates();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE))
+    @Query(SELECT_HELPFULNESS + " where r.organizationId = :organizationId and r.likeCount > 0")
+    Stream<ReviewHelpfulness> streamHelpfulnessCandidatesOf(@Param("organizationId") UUID organizationId);
+
+    // Пространство нативных запросов, меняющих только счетчики реакций reviews: не совпадает с таблицей
+    // сущности, поэтому Hibernate не сбрасывает весь регион Review в кэше второго уровня.
+    // Измененный отзыв вытесняется точечно (ReviewEntityCache)
+    String REACTION_COUNTERS_SPACE = "review_reaction_counters";
+
+    // Атомарный инкремент прямо в БД: без чтения строки и без потерянных обновлений
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REACTION_COUNTERS_SPACE))
+    @NativeQuery("update reviews set like_count = like_count + :likes, dislike_count = dislike_count + :dislikes " +
+            "where id = :id")
+    int incrementReactions(@Param("id") UUID id, @Param("likes") int likes, @Param("dislikes") int dislikes);
+
+    // Блокировка строки до конца транзакции: параллельная реакция не изменит счетчики между чтением и удалением
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Review r where r.id = :id")
+    Optional<Review> findByIdForUpdate(@Param("id") UUID id);
+
+    // Проверка ссылок на родителей для целой пачки одним IN
+    @Query("select r.id from Review r where r.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.practice.example.dto.ReviewReactionCounts(r.id, r.likeCount, r.dislikeCount) " +
+            "from Review r where r.id = :id")
+    Optional<ReviewReactionCounts> findReactionCountsById(@Param("id") UUID id);
+
+    // Вся ветка обсуждения одним рекурсивным запросом (H2 и PostgreSQL): корень, затем уровни
+    // в порядке публикации. При обрезке по limit каждый попавший ответ сохраняет своего родителя
+    @NativeQuery(value = """
+            WITH RECURSIVE thread(id, depth) AS (
+                SELECT id, 0 FROM reviews WHERE id = :rootId
+                UNION ALL
+                SELECT r.id, t.depth + 1 FROM reviews r JOIN thread t ON r.parent_review_id = t.id
+                WHERE t.depth < :maxDepth
+            )
+            SELECT r.id, r.author_id, r.organization_id, r.title, r.content, r.parent_review_id,
+                   r.published_at, r.rating_value, r.like_count, r.dislike_count
+            FROM reviews r JOIN thread t ON r.id = t.id
+            ORDER BY t.depth, r.published_at, r.id
+            LIMIT :limit
+            """, sqlResultSetMapping = Review.VIEW_MAPPING)
+    List<ReviewView> findThread(@Param("rootId") UUID rootId, @Param("maxDepth") int maxDepth, @Param("limit") int limit);
 }
@@ -0,0 +1,16 @@
+package com.practice.example.repository;
+
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewView;
+
+import java.util.List;
+
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Keyset-выборка по (published_at DESC, id DESC): возвращает не более {@code limit} отзывов,
+     * идущих строго после {@code after} (или с начала, если курсор не задан). При {@code preview}
+     * вместо полного текста выбирается его начало.
+     */
+    List<ReviewView> findPage(ReviewFilter filter, ReviewCursor after, int limit, boolean preview);
+}
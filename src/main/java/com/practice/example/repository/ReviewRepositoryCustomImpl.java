@@ -0,0 +1,52 @@
+package com.practice.example.repository;
+
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewView> findPage(ReviewFilter filter, ReviewCursor after, int limit, boolean preview) {
+        // Условия добавляются только для заданных фильтров, чтобы каждая комбинация
+        // попадала в свой составной индекс (organization_id/author_id/parent_review_id, published_at, id)
+        StringBuilder jpql = new StringBuilder(preview ? ReviewRepository.SELECT_PREVIEW : ReviewRepository.SELECT_VIEW)
+                .append(" where 1 = 1");
+        if (filter.getOrganizationId() != null) {
+            jpql.append(" and r.organizationId = :organizationId");
+        }
+        if (filter.getAuthorId() != null) {
+            jpql.append(" and r.authorId = :authorId");
+        }
+        if (filter.getParentReviewId() != null) {
+            jpql.append(" and r.parentReview.id = :parentReviewId");
+        }
+        if (after != null) {
+            jpql.append(" and (r.publishedAt < :publishedAt or (r.publishedAt = :publishedAt and r.id < :id))");
+        }
+        jpql.append(" order by r.publishedAt desc, r.id desc");
+
+        TypedQuery<ReviewView> query = entityManager.createQuery(jpql.toString(), ReviewView.class);
+        if (filter.getOrganizationId() != null) {
+            query.setParameter("organizationId", filter.getOrganizationId());
+        }
+        if (filter.getAuthorId() != null) {
+            query.setParameter("authorId", filter.getAuthorId());
+        }
+        if (filter.getParentReviewId() != null) {
+            query.setParameter("parentReviewId", filter.getParentReviewId());
+        }
+        if (after != null) {
+            query.setParameter("publishedAt", after.getPublishedAt());
+            query.setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
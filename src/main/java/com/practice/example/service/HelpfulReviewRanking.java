@@ -0,0 +1,334 @@
+package com.practice.example.service;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.infra.rebuild.BackgroundRebuild;
+import com.practice.example.infra.tx.AfterCommit;
+import com.practice.example.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Самые полезные отзывы каждой организации в памяти: ограниченное упорядоченное множество лучших
+ * {@code review.helpful.capacity} отзывов, которое обновляется после коммита каждой реакции LIKE/DISLIKE.
+ * Чтение — первые {@code limit} элементов дерева, O(log K + limit), без обращения к БД.
+ * <p>
+ * Полезность — нижняя граница Уилсона для доли лайков, умноженная на exp(-λ·возраст) с периодом
+ * полураспада {@code review.helpful.half-life-days}. Множитель давности одинаков для всех отзывов
+ * в данный момент, поэтому порядок задается ключом ln(wilson) + λ·publishedAt, который не зависит
+ * от текущего времени: отзывы не нужно пересчитывать по мере старения. Отзывы без лайков не ранжируются.
+ * <p>
+ * Инвариант неполной доски: все отзывы организации вне множества не лучше его последнего элемента.
+ * Отзыв, опустившийся ниже последнего, покидает множество; когда в нем остается меньше
+ * {@link #maxLimit()} элементов, доска перечитывается из БД при следующем чтении. При старте
+ * все доски строятся в фоне одним потоковым чтением.
+ * <p>
+ * Удаленный отзыв оставляет на доске надгробие, которое проверяется под ее блокировкой: опоздавшее
+ * обновление счетчиков или строка, прочитанная перестройкой до удаления, его не вернут.
+ */
+@Slf4j
+@Component
+public class HelpfulReviewRanking {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    // 95% доверительный интервал
+    private static final double Z = 1.96;
+
+    // Дольше надгробия не нужны: опоздавшие обновления приходят за доли секунды, а пока идет
+    // перестройка, они не удаляются вовсе
+    private static final long TOMBSTONE_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::key).reversed()
+            .thenComparing(Entry::reviewId);
+
+    private final ReviewRepository reviewRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int capacity;
+
+    private final double decayPerSecond;
+
+    private final boolean rebuildOnStartup;
+
+    private final Map<UUID, Board> boards = new ConcurrentHashMap<>();
+
+    private final BackgroundRebuild backgroundRebuild = new BackgroundRebuild("helpful-review-rebuild");
+
+    public HelpfulReviewRanking(ReviewRepository reviewRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${review.helpful.capacity:100}") int capacity,
+                                @Value("${review.helpful.half-life-days:30}") double halfLifeDays,
+                                @Value("${review.helpful.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("review.helpful.capacity must be at least 2");
+        }
+        this.reviewRepository = reviewRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.capacity = capacity;
+        this.decayPerSecond = Math.log(2) / (halfLifeDays * 86_400);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    // Запас между отдаваемым и хранимым: понижения отзывов не заставляют сразу перечитывать доску
+    public int maxLimit() {
+        return capacity / 2;
+    }
+
+    /**
+     * Лучшие отзывы организации по убыванию полезности; пустой список, если ни у одного нет лайков.
+     */
+    public List<HelpfulReview> getMostHelpful(UUID organizationId, int limit) {
+        int size = Math.min(Math.max(limit, 1), maxLimit());
+        Board board = boards.get(organizationId);
+        if (board == null) {
+            return List.of();
+        }
+        boolean reload;
+        synchronized (board) {
+            reload = !board.complete && board.ranked.size() < maxLimit() && board.startReload();
+        }
+        if (reload) {
+            reload(organizationId, board);
+        }
+        synchronized (board) {
+            List<HelpfulReview> top = new ArrayList<>(Math.min(size, board.ranked.size()));
+            Iterator<Entry> entries = board.ranked.iterator();
+            while (top.size() < size && entries.hasNext()) {
+                Entry entry = entries.next();
+                top.add(new HelpfulReview(entry.reviewId(), entry.publishedAt(), entry.likeCount(),
+                        entry.dislikeCount(), entry.wilsonScore()));
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Применяет новые счетчики отзыва после коммита текущей транзакции (откат — без следов).
+     * Счетчики только растут, поэтому опоздавшее обновление с меньшим числом голосов отбрасывается.
+     */
+    public void updateAfterCommit(ReviewHelpfulness helpfulness) {
+        Entry entry = entry(helpfulness);
+        AfterCommit.run(() -> offer(entry));
+    }
+
+    // Доска создается и для организации, до которой перестройка еще не дошла: надгробие должно ее дождаться
+    public void removeAfterCommit(UUID organizationId, UUID reviewId) {
+        AfterCommit.run(() -> {
+            Board board = boards.computeIfAbsent(organizationId, id -> new Board());
+            synchronized (board) {
+                long now = System.nanoTime();
+                board.remove(reviewId, now);
+                if (!backgroundRebuild.isRunning()) {
+                    board.pruneTombstones(now - TOMBSTONE_TTL_NANOS);
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        backgroundRebuild.startInBackground(this::rebuildNow);
+    }
+
+    public long rebuild() {
+        return backgroundRebuild.run(this::rebuildNow);
+    }
+
+    private long rebuildNow() {
+        long started = System.nanoTime();
+        Long offered = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<ReviewHelpfulness> candidates = reviewRepository.streamHelpfulnessCandidates()) {
+                Iterator<ReviewHelpfulness> iterator = candidates.iterator();
+                while (iterator.hasNext()) {
+                    // Удаленные во время перестройки отсекает надгробие под блокировкой доски
+                    offer(entry(iterator.next()));
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Helpful review ranking rebuilt: {} reviews of {} organizations in {} ms",
+                offered, boards.size(), (System.nanoTime() - started) / 1_000_000);
+        return offered == null ? 0 : offered;
+    }
+
+    /**
+     * Нижняя граница доверительного интервала Уилсона для доли лайков: при малом числе голосов
+     * оценка осторожная, 1 из 1 не обгоняет 90 из 100.
+     */
+    public static double wilsonScore(long likes, long dislikes) {
+        long votes = likes + dislikes;
+        if (votes == 0) {
+            return 0;
+        }
+        double positive = (double) likes / votes;
+        double z2 = Z * Z;
+        double center = positive + z2 / (2 * votes);
+        double margin = Z * Math.sqrt((positive * (1 - positive) + z2 / (4 * votes)) / votes);
+        return Math.max(0, (center - margin) / (1 + z2 / votes));
+    }
+
+    private void offer(Entry entry) {
+        Board board = boards.computeIfAbsent(entry.organizationId(), id -> new Board());
+        synchronized (board) {
+            board.offer(entry, capacity);
+        }
+    }
+
+    // Кандидаты читаются в отдельную доску без блокировки: обновления и чтения организации не ждут
+    // запроса к БД, а готовая доска подменяет содержимое старой под ее блокировкой
+    private void reload(UUID organizationId, Board board) {
+        Board fresh = new Board();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ReviewHelpfulness> candidates = reviewRepository.streamHelpfulnessCandidatesOf(organizationId)) {
+                    candidates.forEach(candidate -> fresh.offer(entry(candidate), capacity));
+                }
+            });
+        } catch (RuntimeException ex) {
+            synchronized (board) {
+                board.cancelReload();
+            }
+            throw ex;
+        }
+        synchronized (board) {
+            board.finishReload(fresh, capacity);
+        }
+    }
+
+    private Entry entry(ReviewHelpfulness helpfulness) {
+        double wilson = wilsonScore(helpfulness.getLikeCount(), helpfulness.getDislikeCount());
+        double key = wilson == 0 ? Double.NEGATIVE_INFINITY
+                : Math.log(wilson) + decayPerSecond * helpfulness.getPublishedAt().getEpochSecond();
+        return new Entry(helpfulness.getReviewId(), helpfulness.getOrganizationId(), helpfulness.getPublishedAt(),
+                helpfulness.getLikeCount(), helpfulness.getDislikeCount(), wilson, key);
+    }
+
+    private record Entry(UUID reviewId, UUID organizationId, Instant publishedAt, int likeCount, int dislikeCount,
+                         double wilsonScore, double key) {
+
+        long votes() {
+            return (long) likeCount + dislikeCount;
+        }
+    }
+
+    // Доступ только под блокировкой самой доски
+    private static final class Board {
+
+        private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+
+        private final Map<UUID, Entry> byId = new HashMap<>();
+
+        // Удаленные отзывы и момент удаления (System.nanoTime) в порядке удаления
+        private final Map<UUID, Long> tombstones = new LinkedHashMap<>();
+
+        // В ranked все отзывы организации с лайками; иначе действует инвариант неполной доски
+        private boolean complete = true;
+
+        // Обновления, пришедшие во время перечитки: прочитанный снимок их может не содержать.
+        // null, если перечитка не идет
+        private List<Entry> offeredDuringReload;
+
+        void offer(Entry entry, int capacity) {
+            if (tombstones.containsKey(entry.reviewId())) {
+                return;
+            }
+            if (offeredDuringReload != null) {
+                offeredDuringReload.add(entry);
+            }
+            Entry current = byId.get(entry.reviewId());
+            if (current != null) {
+                if (current.votes() > entry.votes()) {
+                    return;
+                }
+                ranked.remove(current);
+                byId.remove(entry.reviewId());
+            }
+            if (entry.wilsonScore() == 0) {
+                return;
+            }
+            // Вне неполной доски может лежать что угодно не лучше последнего: ниже него места нет
+            if (!complete && (ranked.isEmpty() || ORDER.compare(entry, ranked.last()) > 0)) {
+                return;
+            }
+            ranked.add(entry);
+            byId.put(entry.reviewId(), entry);
+            if (ranked.size() > capacity) {
+                byId.remove(ranked.pollLast().reviewId());
+                complete = false;
+            }
+        }
+
+        void remove(UUID reviewId, long removedAt) {
+            Entry removed = byId.remove(reviewId);
+            if (removed != null) {
+                ranked.remove(removed);
+            }
+            tombstones.put(reviewId, removedAt);
+        }
+
+        void pruneTombstones(long removedBefore) {
+            Iterator<Long> removedAt = tombstones.values().iterator();
+            while (removedAt.hasNext() && removedAt.next() - removedBefore < 0) {
+                removedAt.remove();
+            }
+        }
+
+        // false, если перечитку уже начал другой читатель
+        boolean startReload() {
+            if (offeredDuringReload != null) {
+                return false;
+            }
+            offeredDuringReload = new ArrayList<>();
+            return true;
+        }
+
+        void cancelReload() {
+            offeredDuringReload = null;
+        }
+
+        // Надгробия переживают перечитку: строка удаленного отзыва могла попасть в снимок до удаления.
+        // Счетчики только растут, поэтому повтор пришедших обновлений поверх снимка не откатывает их назад
+        void finishReload(Board fresh, int capacity) {
+            List<Entry> offered = offeredDuringReload;
+            offeredDuringReload = null;
+            ranked.clear();
+            byId.clear();
+            complete = fresh.complete;
+            for (Entry entry : fresh.ranked) {
+                if (!tombstones.containsKey(entry.reviewId())) {
+                    ranked.add(entry);
+                    byId.put(entry.reviewId(), entry);
+                }
+            }
+            for (Entry entry : offered) {
+                offer(entry, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.practice.example.service;
+
+import com.practice.example.dto.OrganizationRatingSummary;
+import com.practice.example.model.Review;
+import com.practice.example.repository.OrganizationRatingStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Заранее агрегированная статистика рейтинга по организации ({@code organization_rating_stats}).
+ * Изменяется атомарными инкрементами в транзакции самого отзыва или реакции, поэтому сводка
+ * согласована с отзывами и читается одной строкой независимо от их числа. Базы, где отзывы
+ * появились раньше агрегата, заполняет миграция {@code V2__OrganizationRatingStats}.
+ */
+@Slf4j
+@Service
+public class OrganizationStatsService {
+
+    private final OrganizationRatingStatsRepository organizationRatingStatsRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    public OrganizationStatsService(OrganizationRatingStatsRepository organizationRatingStatsRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.organizationRatingStatsRepository = organizationRatingStatsRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public OrganizationRatingSummary getRatingSummary(UUID organizationId) {
+        return organizationRatingStatsRepository.findById(organizationId)
+                .map(OrganizationRatingSummary::of)
+                .orElseGet(() -> OrganizationRatingSummary.empty(organizationId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewCreated(UUID organizationId, int ratingValue) {
+        apply(organizationId, 1, ratingValue, 0, 0);
+    }
+
+    // Пачка отзывов: один инкремент на пару (организация, оценка)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewsCreated(Collection<Review> reviews) {
+        Map<UUID, Map<Integer, Long>> counts = reviews.stream().collect(Collectors.groupingBy(Review::getOrganizationId,
+                Collectors.groupingBy(Review::getRatingValue, Collectors.counting())));
+        counts.forEach((organizationId, byRating) -> byRating.forEach((ratingValue, count) ->
+                apply(organizationId, Math.toIntExact(count), ratingValue, 0, 0)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewDeleted(Review review) {
+        apply(review.getOrganizationId(), -1, review.getRatingValue(), -review.getLikeCount(), -review.getDislikeCount());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reactionsAdded(UUID reviewId, int likes, int dislikes) {
+        organizationRatingStatsRepository.incrementReactions(reviewId, likes, dislikes);
+    }
+
+    private void apply(UUID organizationId, int reviews, int ratingValue, int likes, int dislikes) {
+        if (organizationRatingStatsRepository.applyReview(organizationId, reviews, ratingValue, likes, dislikes) > 0) {
+            return;
+        }
+        // Первый отзыв организации: пустую строку создаем отдельной короткой транзакцией,
+        // чтобы параллельные первые отзывы не падали на вставке, а инкрементировали одну строку
+        try {
+            newTransaction.executeWithoutResult(status -> organizationRatingStatsRepository.insertEmpty(organizationId));
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Rating statistics row for organization {} was created concurrently", organizationId);
+        }
+        organizationRatingStatsRepository.applyReview(organizationId, reviews, ratingValue, likes, dislikes);
+    }
+}
@@ -0,0 +1,218 @@
+package com.practice.example.service;
+
+import com.practice.example.model.ReviewReactions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind буфер реакций: инкременты копятся в памяти в полосатых счетчиках
+ * ({@link LongAdder}) по отзыву и типу реакции и периодически сбрасываются в
+ * {@code reviews.like_count/dislike_count} пачками JDBC.
+ * <p>
+ * Включается свойством {@code review.reactions.write-behind.enabled}; когда выключен,
+ * {@link ReviewService} пишет каждую реакцию сразу атомарным UPDATE.
+ */
+@Slf4j
+@Component
+public class ReactionAggregator {
+
+    static final String FLUSH_SQL =
+            "update reviews set like_count = like_count + ?, dislike_count = dislike_count + ? where id = ?";
+
+    // Те же дельты в агрегат организации, той же транзакцией и с теми же параметрами
+    static final String STATS_FLUSH_SQL = "update organization_rating_stats " +
+            "set like_count = like_count + ?, dislike_count = dislike_count + ? " +
+            "where organization_id = (select organization_id from reviews where id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Всегда новая транзакция на пачку: backpressure-сброс идет в потоке запроса, и пачка не должна
+    // ни присоединяться к его транзакции, ни помечать ее rollback-only при ошибке
+    private final TransactionTemplate batchTransaction;
+
+    private final ReviewDetailsCache reviewDetailsCache;
+
+    private final ReviewEntityCache reviewEntityCache;
+
+    private final boolean enabled;
+
+    private final int maxPendingReviews;
+
+    private final int batchSize;
+
+    private final Map<UUID, PendingReactions> pending = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ReactionAggregator(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ReviewDetailsCache reviewDetailsCache,
+                              ReviewEntityCache reviewEntityCache,
+                              @Value("${review.reactions.write-behind.enabled:false}") boolean enabled,
+                              @Value("${review.reactions.write-behind.max-pending-reviews:10000}") int maxPendingReviews,
+                              @Value("${review.reactions.write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reviewDetailsCache = reviewDetailsCache;
+        this.reviewEntityCache = reviewEntityCache;
+        this.enabled = enabled;
+        this.maxPendingReviews = maxPendingReviews;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(UUID reviewId, ReviewReactions.Type type) {
+        if (pending.size() >= maxPendingReviews && !pending.containsKey(reviewId)) {
+            // Backpressure: буфер заполнен, вызывающий поток сам сбрасывает его в БД
+            flush();
+        }
+        add(reviewId, type, 1);
+    }
+
+    /**
+     * Еще не сброшенная в БД дельта для отзыва.
+     */
+    public long pendingCount(UUID reviewId, ReviewReactions.Type type) {
+        PendingReactions counters = pending.get(reviewId);
+        return counters == null ? 0 : counters.get(type);
+    }
+
+    public int pendingReviews() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${review.reactions.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            log.info("Flushing {} pending review reaction counters before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (UUID reviewId : pending.keySet()) {
+                PendingReactions counters = pending.get(reviewId);
+                if (counters == null) {
+                    continue;
+                }
+                // Сначала помечаем запись выведенной, затем убираем из карты и только потом вычитываем:
+                // запоздавший инкремент в выведенную запись писатель перенесет в новую сам (см. add)
+                counters.retire();
+                pending.remove(reviewId, counters);
+                long likes = counters.drain(ReviewReactions.Type.LIKE);
+                long dislikes = counters.drain(ReviewReactions.Type.DISLIKE);
+                if (likes == 0 && dislikes == 0) {
+                    continue;
+                }
+                batch.add(new Object[]{likes, dislikes, reviewId});
+                if (batch.size() >= batchSize) {
+                    if (!write(batch)) {
+                        return;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean write(List<Object[]> batch) {
+        List<UUID> reviewIds = batch.stream().map(row -> (UUID) row[2]).toList();
+        try {
+            // Сущность вытесняется и до, и после записи, как в ReviewEntityCache#evictAroundCommit
+            reviewEntityCache.evictAll(reviewIds);
+            batchTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                jdbcTemplate.batchUpdate(STATS_FLUSH_SQL, batch);
+            });
+            // Закэшированные снимок и сущность не содержат только что сброшенных дельт
+            reviewDetailsCache.evictAll(reviewIds);
+            reviewEntityCache.evictAll(reviewIds);
+            return true;
+        } catch (RuntimeException ex) {
+            // Пачка откатилась целиком: возвращаем дельты в буфер до следующей попытки
+            log.warn("Failed to flush {} review reaction counters, will retry", batch.size(), ex);
+            for (Object[] row : batch) {
+                UUID reviewId = (UUID) row[2];
+                add(reviewId, ReviewReactions.Type.LIKE, (long) row[0]);
+                add(reviewId, ReviewReactions.Type.DISLIKE, (long) row[1]);
+            }
+            return false;
+        }
+    }
+
+    private void add(UUID reviewId, ReviewReactions.Type type, long amount) {
+        while (amount != 0) {
+            PendingReactions counters = pending.computeIfAbsent(reviewId, id -> new PendingReactions());
+            counters.add(type, amount);
+            if (!counters.isRetired()) {
+                return;
+            }
+            // Запись успели вывести: забираем то, что не досталось флашеру, и повторяем с новой
+            amount = counters.drain(type);
+        }
+    }
+
+    private static final class PendingReactions {
+        private final LongAdder[] counters = new LongAdder[ReviewReactions.Type.values().length];
+        private volatile boolean retired;
+
+        PendingReactions() {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        void add(ReviewReactions.Type type, long amount) {
+            counters[type.ordinal()].add(amount);
+        }
+
+        long get(ReviewReactions.Type type) {
+            return counters[type.ordinal()].sum();
+        }
+
+        long drain(ReviewReactions.Type type) {
+            return counters[type.ordinal()].sumThenReset();
+        }
+
+        void retire() {
+            retired = true;
+        }
+
+        boolean isRetired() {
+            return retired;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.practice.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.practice.example.infra.tx.AfterCommit;
+import com.practice.example.model.ReviewDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through кэш {@link ReviewDetails} для чтения одного отзыва и проверки родителя при ответе.
+ * Ограничен по размеру и времени жизни записи; метрики {@code cache.gets/cache.evictions/cache.size}
+ * с тегом {@code cache=review.details}.
+ * <p>
+ * Закэшированные экземпляры общие для всех читателей и не должны изменяться. Отсутствующие
+ * отзывы не кэшируются.
+ */
+@Component
+public class ReviewDetailsCache {
+
+    static final String CACHE_NAME = "review.details";
+
+    private final Cache<UUID, ReviewDetails> cache;
+
+    public ReviewDetailsCache(MeterRegistry meterRegistry,
+                              @Value("${review.cache.details.max-size:10000}") long maxSize,
+                              @Value("${review.cache.details.ttl-ms:60000}") long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Значение из кэша или результат загрузчика; {@code null}, если загрузчик ничего не нашел.
+     */
+    public ReviewDetails get(UUID reviewId, Function<UUID, ReviewDetails> loader) {
+        return cache.get(reviewId, loader);
+    }
+
+    // Без загрузки: null, если отзыва нет в кэше
+    public ReviewDetails getIfPresent(UUID reviewId) {
+        return cache.getIfPresent(reviewId);
+    }
+
+    /**
+     * Вытесняет запись после коммита текущей транзакции: иначе параллельный читатель успел бы
+     * закэшировать еще не измененное состояние. Вне транзакции вытесняет сразу.
+     */
+    public void evictAfterCommit(UUID reviewId) {
+        AfterCommit.run(() -> cache.invalidate(reviewId));
+    }
+
+    // Сразу, без ожидания коммита: запись уже известна как устаревшая
+    public void evict(UUID reviewId) {
+        cache.invalidate(reviewId);
+    }
+
+    public void evictAll(Collection<UUID> reviewIds) {
+        cache.invalidateAll(reviewIds);
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
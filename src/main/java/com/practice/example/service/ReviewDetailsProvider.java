@@ -1,20 +1,31 @@
 package com.practice.example.service;
 
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.EmojiReactionCounts;
 import com.practice.example.model.Review;
 import com.practice.example.model.ReviewDetails;
 import com.practice.example.model.ReviewRating;
 import com.practice.example.model.ReviewReactions;
+import com.practice.example.repository.EmojiReactionRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class ReviewDetailsProvider {
 
     public ReviewDetails getDetailsTo(Review review) {
+        return getDetailsTo(review, EmojiReactionCounts.empty());
+    }
+
+    public ReviewDetails getDetailsTo(Review review, EmojiReactionCounts emojiReactions) {
         ReviewDetails reviewDetailsWithoutReactions = ReviewDetails.builder()
                 .id(review.getId())
                 .authorId(review.getAuthorId())
@@ -26,6 +37,7 @@ public class ReviewDetailsProvider {
                 .publishedAt(review.getPublishedAt())
                 .rating(new ReviewRating(review.getRatingValue()))
                 .organizationId(review.getOrganizationId())
+                .emojiReactions(emojiReactions)
                 .build();
 
          reviewDetailsWithoutReactions.addReaction(ReviewReactions.Type.LIKE, review.getLikeCount());
@@ -34,5 +46,46 @@ public class ReviewDetailsProvider {
          return reviewDetailsWithoutReactions;
     }
 
+    // Из проекции: родитель уже лежит идентификатором, сущность и прокси не нужны
+    public ReviewDetails getDetailsTo(ReviewView review, EmojiReactionCounts emojiReactions) {
+        ReviewDetails details = new ReviewDetails(review.getId(), review.getAuthorId(), review.getOrganizationId(),
+                review.getTitle(), review.getContent(), Optional.ofNullable(review.getParentReviewId()),
+                review.getPublishedAt(), new ReviewRating(review.getRatingValue()), emojiReactions);
+        details.addReaction(ReviewReactions.Type.LIKE, review.getLikeCount());
+        details.addReaction(ReviewReactions.Type.DISLIKE, review.getDislikeCount());
+        return details;
+    }
+
+    /**
+     * Счетчики одного отзыва; строки должны быть упорядочены по code point.
+     */
+    public EmojiReactionCounts toEmojiReactionCounts(List<EmojiReactionRow> rows) {
+        if (rows.isEmpty()) {
+            return EmojiReactionCounts.empty();
+        }
+        int[] codePoints = new int[rows.size()];
+        int[] counts = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            codePoints[i] = rows.get(i).getCodePoint();
+            counts[i] = rows.get(i).getCount();
+        }
+        return EmojiReactionCounts.of(codePoints, counts);
+    }
+
+    /**
+     * Счетчики пачки отзывов; строки должны быть упорядочены по (review_id, code point).
+     */
+    public Map<UUID, EmojiReactionCounts> groupEmojiReactionCounts(List<EmojiReactionRow> rows) {
+        Map<UUID, EmojiReactionCounts> result = new HashMap<>();
+        int from = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i == rows.size() || !rows.get(i).getReviewId().equals(rows.get(from).getReviewId())) {
+                result.put(rows.get(from).getReviewId(), toEmojiReactionCounts(rows.subList(from, i)));
+                from = i;
+            }
+        }
+        return result;
+    }
+
 }
 
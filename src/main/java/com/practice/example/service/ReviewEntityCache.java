@@ -0,0 +1,55 @@
+package com.practice.example.service;
+
+import com.practice.example.infra.tx.AfterCommit;
+import com.practice.example.model.Review;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Точечное вытеснение {@link Review} из кэша второго уровня Hibernate после изменений строки в обход
+ * сущности: атомарных инкрементов реакций и JDBC-сброса write-behind буфера. Hibernate сам сбросил бы
+ * на таком UPDATE весь регион, поэтому эти запросы объявляют свое пространство (см. ReviewRepository),
+ * а устаревшую запись убирает этот класс. Без кэша второго уровня (вне профиля prod) ничего не делает.
+ * <p>
+ * Такой UPDATE не ставит мягкую блокировку READ_WRITE, поэтому читатель, загрузивший строку до коммита,
+ * может положить ее в кэш уже после вытеснения. Запись вытесняется и до изменения, и после коммита:
+ * окно для устаревшего значения сужается до чтений, начатых внутри самой транзакции.
+ */
+@Component
+public class ReviewEntityCache {
+
+    private final Cache cache;
+
+    private final boolean enabled;
+
+    public ReviewEntityCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache();
+        this.enabled = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    // Включен ли кэш второго уровня: от этого зависит, дешевле ли загрузить Review по id, чем проверить exists
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Вытесняет запись сразу и еще раз после коммита текущей транзакции; вне транзакции второе
+     * вытеснение тоже происходит сразу и ничего не меняет.
+     */
+    public void evictAroundCommit(UUID reviewId) {
+        cache.evict(Review.class, reviewId);
+        AfterCommit.run(() -> cache.evict(Review.class, reviewId));
+    }
+
+    public void evictAll(Collection<UUID> reviewIds) {
+        for (UUID reviewId : reviewIds) {
+            cache.evict(Review.class, reviewId);
+        }
+    }
+}
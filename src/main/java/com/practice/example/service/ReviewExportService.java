@@ -0,0 +1,83 @@
+package com.practice.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.repository.ReviewEmojiReactionRepository;
+import com.practice.example.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ReviewExportService {
+
+    private final ReviewRepository reviewRepository;
+
+    private final ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+
+    private final ReviewDetailsProvider reviewDetailsProvider;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Пишет все отзывы в {@code out} как NDJSON (по одному объекту на строку).
+     * Память не растет с размером таблицы: отзывы обрабатываются пачками по {@link ReviewRepository#FETCH_SIZE}
+     * (эмодзи-реакции пачки читаются одним запросом), строки приходят проекцией мимо контекста
+     * персистентности, а накопленный вывод сбрасывается клиенту после каждой пачки.
+     */
+    @Transactional(readOnly = true)
+    public long exportReviews(OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<ReviewView> reviews = reviewRepository.streamAll();
+             SequenceWriter writer = objectMapper.writerFor(ReviewDetails.class)
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<ReviewView> iterator = reviews.iterator();
+            // Первую строку отдаем сразу, не дожидаясь заполнения пачки
+            int batchLimit = 1;
+            List<ReviewView> batch = new ArrayList<>(ReviewRepository.FETCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= batchLimit || !iterator.hasNext()) {
+                    written += writeBatch(writer, batch);
+                    batch.clear();
+                    writer.flush();
+                    batchLimit = ReviewRepository.FETCH_SIZE;
+                }
+            }
+            if (written > 0) {
+                out.write('\n');
+            }
+        }
+        return written;
+    }
+
+    private int writeBatch(SequenceWriter writer, List<ReviewView> batch) throws IOException {
+        List<UUID> ids = new ArrayList<>(batch.size());
+        for (ReviewView review : batch) {
+            ids.add(review.getId());
+        }
+        Map<UUID, EmojiReactionCounts> emoji = reviewDetailsProvider.groupEmojiReactionCounts(
+                reviewEmojiReactionRepository.findRowsByReviewIds(ids));
+        for (ReviewView review : batch) {
+            writer.write(reviewDetailsProvider.getDetailsTo(review,
+                    emoji.getOrDefault(review.getId(), EmojiReactionCounts.empty())));
+        }
+        return batch.size();
+    }
+}
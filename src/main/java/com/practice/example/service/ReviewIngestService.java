@@ -0,0 +1,234 @@
+package com.practice.example.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.dto.BulkIngestFailure;
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.dto.CreateReviewRequest;
+import com.practice.example.infra.id.ReviewIdGenerator;
+import com.practice.example.infra.outbox.ReviewOutbox;
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.model.Review;
+import com.practice.example.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Массовая загрузка отзывов из потока JSON-массива или NDJSON. Поток читается по элементу,
+ * отзывы пишутся пачками по {@code review.ingest.chunk-size}: одна транзакция, один IN-запрос
+ * на проверку родителей, JDBC-батчи вставок отзывов и событий outbox. Ошибка пачки не прерывает
+ * загрузку: пачка повторяется поэлементно, и в отчет попадают только сбойные элементы.
+ * После каждой пачки контекст персистентности очищается, поэтому память не зависит от размера загрузки.
+ */
+@Slf4j
+@Service
+public class ReviewIngestService {
+
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final ReviewRepository reviewRepository;
+
+    private final ReviewDetailsProvider reviewDetailsProvider;
+
+    private final ReviewOutbox reviewOutbox;
+
+    private final OrganizationStatsService organizationStatsService;
+
+    private final ReviewIdGenerator reviewIdGenerator;
+
+    private final ReviewSearchIndex reviewSearchIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final int chunkSize;
+
+    public ReviewIngestService(ReviewRepository reviewRepository,
+                               ReviewDetailsProvider reviewDetailsProvider,
+                               ReviewOutbox reviewOutbox,
+                               OrganizationStatsService organizationStatsService,
+                               ReviewIdGenerator reviewIdGenerator,
+                               ReviewSearchIndex reviewSearchIndex,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               EntityManager entityManager,
+                               @Value("${review.ingest.chunk-size:500}") int chunkSize) {
+        this.reviewRepository = reviewRepository;
+        this.reviewDetailsProvider = reviewDetailsProvider;
+        this.reviewOutbox = reviewOutbox;
+        this.organizationStatsService = organizationStatsService;
+        this.reviewIdGenerator = reviewIdGenerator;
+        this.reviewSearchIndex = reviewSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkIngestResult ingest(InputStream input) throws IOException {
+        Progress progress = new Progress();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        boolean complete = true;
+        // Читатель разворачивает корневой массив и так же читает значения, разделенные переводами строк
+        try (MappingIterator<CreateReviewRequest> requests = objectMapper.readerFor(CreateReviewRequest.class)
+                .readValues(input)) {
+            while (true) {
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(new Item(index, requests.nextValue()));
+                } catch (JsonParseException ex) {
+                    // Дальше поток не разобрать: сохраняем прочитанное и сообщаем, где остановились
+                    progress.fail(index, "Malformed JSON: " + ex.getOriginalMessage());
+                    complete = false;
+                    break;
+                } catch (JsonMappingException ex) {
+                    progress.fail(index, "Invalid review: " + ex.getOriginalMessage());
+                }
+                index++;
+                if (chunk.size() == chunkSize) {
+                    ingestChunk(chunk, progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            ingestChunk(chunk, progress);
+        }
+        progress.failures.sort(Comparator.comparingInt(BulkIngestFailure::getIndex));
+        return new BulkIngestResult(index, progress.created, progress.failed, progress.failures, complete);
+    }
+
+    private void ingestChunk(List<Item> chunk, Progress progress) {
+        List<Item> valid = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            String error = validate(item.request);
+            if (error == null) {
+                valid.add(item);
+            } else {
+                progress.fail(item.index, error);
+            }
+        }
+
+        Set<UUID> parentIds = new HashSet<>();
+        for (Item item : valid) {
+            if (item.request.getParentReviewId() != null) {
+                parentIds.add(item.request.getParentReviewId());
+            }
+        }
+        Set<UUID> existingParents = parentIds.isEmpty() ? Set.of() : new HashSet<>(reviewRepository.findExistingIds(parentIds));
+        List<Item> insertable = new ArrayList<>(valid.size());
+        for (Item item : valid) {
+            UUID parentId = item.request.getParentReviewId();
+            if (parentId != null && !existingParents.contains(parentId)) {
+                progress.fail(item.index, "Parent review not found: " + parentId);
+            } else {
+                insertable.add(item);
+            }
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(insertable);
+            progress.created += insertable.size();
+        } catch (RuntimeException ex) {
+            log.warn("Bulk insert of {} reviews failed, retrying them one by one", insertable.size(), ex);
+            for (Item item : insertable) {
+                try {
+                    insert(List.of(item));
+                    progress.created++;
+                } catch (RuntimeException itemEx) {
+                    progress.fail(item.index, NestedExceptionUtils.getMostSpecificCause(itemEx).getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<Item> items) {
+        try {
+            insertInTransaction(items);
+        } finally {
+            // Под open-in-view все пачки проходят через EntityManager запроса: без очистки каждый сохраненный
+            // отзыв оставался бы в нем до конца загрузки, и память росла бы с числом строк
+            entityManager.clear();
+        }
+    }
+
+    private void insertInTransaction(List<Item> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<Review> reviews = new ArrayList<>(items.size());
+            for (Item item : items) {
+                CreateReviewRequest request = item.request;
+                reviews.add(Review.builder()
+                        .id(reviewIdGenerator.next())
+                        .authorId(request.getAuthorId())
+                        .organizationId(request.getOrganizationId())
+                        .title(request.getTitle())
+                        .content(request.getContent())
+                        .parentReview(request.getParentReviewId() == null ? null
+                                : reviewRepository.getReferenceById(request.getParentReviewId()))
+                        .publishedAt(now)
+                        .ratingValue(request.getRatingValue())
+                        .likeCount(0)
+                        .dislikeCount(0)
+                        .build());
+            }
+            reviewRepository.saveAll(reviews);
+            organizationStatsService.reviewsCreated(reviews);
+            reviewOutbox.reviewsPublished(reviews.stream().map(reviewDetailsProvider::getDetailsTo).toList());
+            reviewSearchIndex.indexAfterCommit(reviews);
+        });
+    }
+
+    private static String validate(CreateReviewRequest request) {
+        if (request == null) {
+            return "Review must be an object";
+        }
+        if (request.getAuthorId() == null || request.getOrganizationId() == null
+                || request.getTitle() == null || request.getRatingValue() == null) {
+            return "authorId, organizationId, title and ratingValue are required";
+        }
+        return null;
+    }
+
+    private record Item(int index, CreateReviewRequest request) {
+    }
+
+    private static final class Progress {
+        private final List<BulkIngestFailure> failures = new ArrayList<>();
+        private int created;
+        private int failed;
+
+        void fail(int index, String error) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new BulkIngestFailure(index, Objects.requireNonNullElse(error, "Unknown error")));
+            }
+        }
+    }
+}
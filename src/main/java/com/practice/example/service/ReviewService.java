@@ -1,10 +1,29 @@
 package com.practice.example.service;
 
 import com.practice.example.dto.CreateReviewRequest;
-import com.practice.example.infra.kafka.ReviewKafkaProducer;
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewSearchCursor;
+import com.practice.example.dto.ReviewThread;
+import com.practice.example.dto.ReviewThreadNode;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.infra.id.ReviewIdGenerator;
+import com.practice.example.infra.outbox.ReviewOutbox;
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.infra.search.SearchHit;
+import com.practice.example.infra.tx.AfterCommit;
+import com.practice.example.model.EmojiReactionCounts;
 import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewReactions;
+import com.practice.example.repository.ReviewEmojiReactionRepository;
+import com.practice.example.repository.ReviewFilter;
 import com.practice.example.repository.ReviewRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,15 +32,43 @@ import java.util.*;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
+// Таймер review.service с тегами class/method/exception на каждый публичный метод (TimedAspect)
+@Timed("review.service")
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int DEFAULT_THREAD_SIZE = 500;
+
+    public static final int MAX_THREAD_SIZE = 2000;
+
+    public static final int MAX_THREAD_DEPTH = 64;
+
     private final ReviewRepository reviewRepository;
 
     private final ReviewDetailsProvider reviewDetailsProvider;
 
-    private final ReviewKafkaProducer reviewKafkaProducer;
+    private final ReviewOutbox reviewOutbox;
+
+    private final ReactionAggregator reactionAggregator;
+
+    private final ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+
+    private final ReviewDetailsCache reviewDetailsCache;
+
+    private final OrganizationStatsService organizationStatsService;
+
+    private final ReviewIdGenerator reviewIdGenerator;
+
+    private final ReviewSearchIndex reviewSearchIndex;
+
+    private final HelpfulReviewRanking helpfulReviewRanking;
+
+    private final ReviewEntityCache reviewEntityCache;
 
     @Transactional
     public Review createReview(UUID authorId,
@@ -30,11 +77,17 @@ public class ReviewService {
                                String content,
                                UUID parentReviewId,
                                int ratingValue) {
-        UUID newId = UUID.randomUUID();
+        UUID newId = reviewIdGenerator.next();
         Review parent = null;
+        boolean parentFromCache = false;
         if (parentReviewId != null) {
-            parent = reviewRepository.findById(parentReviewId)
-                    .orElseThrow(() -> new NoSuchElementException("Parent review not found: " + parentReviewId));
+            // Ответы концентрируются на немногих горячих отзывах: существование родителя проверяем
+            // по кэшу, при промахе — в БД. Для связи достаточно ссылки без загрузки сущности
+            parentFromCache = reviewDetailsCache.getIfPresent(parentReviewId) != null;
+            if (!parentFromCache && !reviewExists(parentReviewId)) {
+                throw new NoSuchElementException("Parent review not found: " + parentReviewId);
+            }
+            parent = reviewRepository.getReferenceById(parentReviewId);
         }
 
         Review review = Review.builder()
@@ -50,40 +103,251 @@ public class ReviewService {
                 .dislikeCount(0)
                 .build();
 
-        reviewKafkaProducer.sendReviewPublished(reviewDetailsProvider.getDetailsTo(review));
-        return reviewRepository.save(review);
+        Review saved = parentFromCache ? saveReplyToCachedParent(review) : reviewRepository.save(review);
+        organizationStatsService.reviewCreated(organizationId, ratingValue);
+        // Событие уходит в outbox той же транзакцией, в Kafka его доставит OutboxRelay
+        reviewOutbox.reviewPublished(reviewDetailsProvider.getDetailsTo(saved));
+        reviewSearchIndex.indexAfterCommit(saved);
+        return saved;
+    }
+
+    // С кэшем второго уровня (профиль prod) загрузка по первичному ключу обычно обходится без БД;
+    // без него exists дешевле: строка и тело отзыва не читаются
+    private boolean reviewExists(UUID reviewId) {
+        return reviewEntityCache.isEnabled()
+                ? reviewRepository.findById(reviewId).isPresent()
+                : reviewRepository.existsById(reviewId);
+    }
+
+    // Кэш мог еще не узнать об удалении родителя: тогда вставку отклонит внешний ключ. Пишем сразу,
+    // чтобы ответить 404, как при проверке в БД, а не ошибкой на коммите. Прочие нарушения
+    // (длина заголовка, NOT NULL) уходят вызывающему как есть, как и без кэша
+    private Review saveReplyToCachedParent(Review reply) {
+        UUID parentReviewId = reply.getParentReview().getId();
+        try {
+            return reviewRepository.saveAndFlush(reply);
+        } catch (DataIntegrityViolationException ex) {
+            if (reviewRepository.existsByIdInNewTransaction(parentReviewId)) {
+                throw ex;
+            }
+            reviewDetailsCache.evict(parentReviewId);
+            throw new NoSuchElementException("Parent review not found: " + parentReviewId);
+        }
     }
 
     @Transactional
-    public Review addReaction(UUID reviewId, String reactionTypeStr) {
-        Review review = reviewRepository.findById(reviewId)
+    public ReviewReactionCounts addReaction(UUID reviewId, String reactionTypeStr) {
+        ReviewReactions reaction = ReviewReactions.fromString(reactionTypeStr);
+        reviewDetailsCache.evictAfterCommit(reviewId);
+        if (reaction.getType() == ReviewReactions.Type.EMOJI) {
+            return addEmojiReaction(reviewId, reaction);
+        }
+        if (reactionAggregator.isEnabled()) {
+            return addReactionWriteBehind(reviewId, reaction);
+        }
+
+        int likes = reaction.getType() == ReviewReactions.Type.LIKE ? 1 : 0;
+        int dislikes = 1 - likes;
+        if (reviewRepository.incrementReactions(reviewId, likes, dislikes) == 0) {
+            throw new NoSuchElementException("Review not found: " + reviewId);
+        }
+        reviewEntityCache.evictAroundCommit(reviewId);
+        organizationStatsService.reactionsAdded(reviewId, likes, dislikes);
+
+        // Строка уже заблокирована нашим UPDATE до конца транзакции, поэтому счетчики согласованы
+        ReviewHelpfulness helpfulness = findHelpfulness(reviewId);
+        helpfulReviewRanking.updateAfterCommit(helpfulness);
+        return helpfulness.toReactionCounts().withEmoji(findEmojiReactionCounts(reviewId));
+    }
+
+    // Эмодзи пишутся сразу и в write-behind режиме: пиковая нагрузка приходится на LIKE/DISLIKE
+    private ReviewReactionCounts addEmojiReaction(UUID reviewId, ReviewReactions reaction) {
+        ReviewReactionCounts counts = findReactionCounts(reviewId);
+        reviewEmojiReactionRepository.increment(reviewId, reaction.getValue(), 1);
+        return withPendingReactions(counts).withEmoji(findEmojiReactionCounts(reviewId));
+    }
+
+    private ReviewReactionCounts addReactionWriteBehind(UUID reviewId, ReviewReactions reaction) {
+        ReviewHelpfulness persisted = findHelpfulness(reviewId);
+        // В буфер реакция попадает только после коммита: иначе ее сбросил бы следующий флаш, даже если
+        // запрос закончится ошибкой. Поэтому в ответе она учитывается сверх еще не сброшенных дельт
+        AfterCommit.run(() -> reactionAggregator.record(reviewId, reaction.getType()));
+        int likes = reaction.getType() == ReviewReactions.Type.LIKE ? 1 : 0;
+        ReviewHelpfulness current = persisted.withPending(
+                reactionAggregator.pendingCount(reviewId, ReviewReactions.Type.LIKE) + likes,
+                reactionAggregator.pendingCount(reviewId, ReviewReactions.Type.DISLIKE) + 1 - likes);
+        helpfulReviewRanking.updateAfterCommit(current);
+        return current.toReactionCounts().withEmoji(findEmojiReactionCounts(reviewId));
+    }
+
+    private ReviewHelpfulness findHelpfulness(UUID reviewId) {
+        return reviewRepository.findHelpfulnessById(reviewId)
                 .orElseThrow(() -> new NoSuchElementException("Review not found: " + reviewId));
+    }
 
-        // Можно добавить поддержку других типов реакций, здесь оставляем только LIKE/DISLIKE
-        switch (reactionTypeStr.toUpperCase()) {
-            case "LIKE":
-                review.setLikeCount(review.getLikeCount() + 1);
-                break;
-            case "DISLIKE":
-                review.setDislikeCount(review.getDislikeCount() + 1);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown reaction: " + reactionTypeStr);
+    private ReviewReactionCounts findReactionCounts(UUID reviewId) {
+        return reviewRepository.findReactionCountsById(reviewId)
+                .orElseThrow(() -> new NoSuchElementException("Review not found: " + reviewId));
+    }
+
+    private EmojiReactionCounts findEmojiReactionCounts(UUID reviewId) {
+        return reviewDetailsProvider.toEmojiReactionCounts(reviewEmojiReactionRepository.findRowsByReviewId(reviewId));
+    }
+
+    // Сохраненные счетчики с учетом еще не сброшенных в БД дельт write-behind буфера
+    private ReviewReactionCounts withPendingReactions(ReviewReactionCounts persisted) {
+        if (!reactionAggregator.isEnabled()) {
+            return persisted;
         }
+        UUID reviewId = persisted.getReviewId();
+        return new ReviewReactionCounts(reviewId,
+                persisted.getLikeCount() + (int) reactionAggregator.pendingCount(reviewId, ReviewReactions.Type.LIKE),
+                persisted.getDislikeCount() + (int) reactionAggregator.pendingCount(reviewId, ReviewReactions.Type.DISLIKE));
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewDetails getReview(UUID reviewId) {
+        ReviewDetails details = findDetails(reviewId);
+        if (details == null) {
+            throw new NoSuchElementException("Review not found: " + reviewId);
+        }
+        return withPendingReactions(details);
+    }
+
+    private ReviewDetails findDetails(UUID reviewId) {
+        return reviewDetailsCache.get(reviewId, id -> reviewRepository.findViewById(id)
+                .map(review -> reviewDetailsProvider.getDetailsTo(review, findEmojiReactionCounts(id)))
+                .orElse(null));
+    }
 
-        return reviewRepository.save(review);
+    // Закэшированный экземпляр общий, поэтому дельты write-behind добавляются к копии
+    private ReviewDetails withPendingReactions(ReviewDetails cached) {
+        if (!reactionAggregator.isEnabled()) {
+            return cached;
+        }
+        long likes = reactionAggregator.pendingCount(cached.getId(), ReviewReactions.Type.LIKE);
+        long dislikes = reactionAggregator.pendingCount(cached.getId(), ReviewReactions.Type.DISLIKE);
+        if (likes == 0 && dislikes == 0) {
+            return cached;
+        }
+        ReviewDetails details = new ReviewDetails(cached.getId(), cached.getAuthorId(), cached.getOrganizationId(),
+                cached.getTitle(), cached.getContent(), cached.getParentReviewId(), cached.getPublishedAt(),
+                cached.getRating(), cached.getEmojiReactions());
+        details.addReaction(ReviewReactions.Type.LIKE,
+                cached.getReactionCount(ReviewReactions.Type.LIKE) + (int) likes);
+        details.addReaction(ReviewReactions.Type.DISLIKE,
+                cached.getReactionCount(ReviewReactions.Type.DISLIKE) + (int) dislikes);
+        return details;
     }
 
     @Transactional(readOnly = true)
-    public List<Review> getAllReviews() {
-        return reviewRepository.findAll();
+    public ReviewPage<ReviewView> getReviews(UUID organizationId,
+                                 UUID authorId,
+                                 UUID parentReviewId,
+                                 String cursor,
+                                 int limit,
+                                 boolean preview) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ReviewCursor after = cursor == null || cursor.isBlank() ? null : ReviewCursor.decode(cursor);
+
+        // Запрашиваем на одну запись больше, чтобы понять, есть ли следующая страница
+        List<ReviewView> rows = reviewRepository.findPage(
+                new ReviewFilter(organizationId, authorId, parentReviewId), after, pageSize + 1, preview);
+        if (rows.size() <= pageSize) {
+            return new ReviewPage<>(rows, null);
+        }
+        List<ReviewView> items = rows.subList(0, pageSize);
+        return new ReviewPage<>(items, ReviewCursor.of(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Полнотекстовый поиск: порядок и страница — из индекса, превью найденных отзывов — одним запросом
+     * по id. Отзывы, удаленные после попадания в индекс, из страницы выпадают.
+     */
+    @Transactional(readOnly = true)
+    public ReviewPage<ReviewView> search(String query, UUID organizationId, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ReviewSearchCursor after = cursor == null || cursor.isBlank() ? null : ReviewSearchCursor.decode(cursor);
+
+        List<SearchHit> hits = reviewSearchIndex.search(query, organizationId,
+                after == null ? null : new SearchHit(after.getId(), after.getScore()), pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+        if (page.isEmpty()) {
+            return new ReviewPage<>(List.of(), null);
+        }
+
+        Map<UUID, ReviewView> views = new HashMap<>(page.size() * 2);
+        for (ReviewView view : reviewRepository.findPreviewsByIds(page.stream().map(SearchHit::reviewId).toList())) {
+            views.put(view.getId(), view);
+        }
+        List<ReviewView> items = new ArrayList<>(page.size());
+        for (SearchHit hit : page) {
+            ReviewView view = views.get(hit.reviewId());
+            if (view != null) {
+                items.add(view);
+            }
+        }
+        SearchHit last = page.get(page.size() - 1);
+        return new ReviewPage<>(items, hasNext ? new ReviewSearchCursor(last.score(), last.reviewId()).encode() : null);
+    }
+
+    /**
+     * Дерево ответов: один рекурсивный запрос за отзывами и один за эмодзи всей ветки,
+     * сборка в памяти за O(n). Родитель каждого узла приходит раньше самого узла.
+     */
+    @Transactional(readOnly = true)
+    public ReviewThread getThread(UUID rootId, int maxDepth, int limit) {
+        int depth = Math.min(Math.max(maxDepth, 0), MAX_THREAD_DEPTH);
+        int size = Math.min(Math.max(limit, 1), MAX_THREAD_SIZE);
+
+        // На уровень и строку больше запрошенного: по лишним видно, что ветка обрезана глубиной или лимитом
+        List<ReviewView> rows = reviewRepository.findThread(rootId, depth + 1, size + 1);
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException("Review not found: " + rootId);
+        }
+        // Строки идут по уровням, поэтому первая лишняя строка отсекает и все следующие
+        List<ReviewView> reviews = new ArrayList<>(Math.min(rows.size(), size));
+        Map<UUID, Integer> levels = new HashMap<>(rows.size() * 2);
+        boolean truncated = false;
+        for (ReviewView review : rows) {
+            int level = levels.isEmpty() ? 0 : levels.get(review.getParentReviewId()) + 1;
+            if (level > depth || reviews.size() == size) {
+                truncated = true;
+                break;
+            }
+            levels.put(review.getId(), level);
+            reviews.add(review);
+        }
+
+        Map<UUID, EmojiReactionCounts> emoji = reviewDetailsProvider.groupEmojiReactionCounts(
+                reviewEmojiReactionRepository.findRowsByReviewIds(reviews.stream().map(ReviewView::getId).toList()));
+        Map<UUID, ReviewThreadNode> nodes = new HashMap<>(reviews.size() * 2);
+        ReviewThreadNode root = null;
+        for (ReviewView review : reviews) {
+            ReviewThreadNode node = new ReviewThreadNode(reviewDetailsProvider.getDetailsTo(review,
+                    emoji.getOrDefault(review.getId(), EmojiReactionCounts.empty())));
+            nodes.put(review.getId(), node);
+            if (root == null) {
+                root = node;
+            } else {
+                nodes.get(review.getParentReviewId()).getReplies().add(node);
+            }
+        }
+        return new ReviewThread(root, reviews.size(), truncated);
     }
 
     @Transactional
     public void deleteReview(UUID reviewId) {
-        if (!reviewRepository.existsById(reviewId)) {
-            throw new NoSuchElementException("Review not found: " + reviewId);
-        }
-        reviewRepository.deleteById(reviewId);
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new NoSuchElementException("Review not found: " + reviewId));
+        reviewRepository.delete(review);
+        organizationStatsService.reviewDeleted(review);
+        reviewDetailsCache.evictAfterCommit(reviewId);
+        reviewSearchIndex.removeAfterCommit(reviewId);
+        helpfulReviewRanking.removeAfterCommit(review.getOrganizationId(), reviewId);
     }
 }
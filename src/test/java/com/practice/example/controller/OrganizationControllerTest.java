@@ -0,0 +1,102 @@
+package com.practice.example.controller;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.OrganizationRatingSummary;
+import com.practice.example.model.OrganizationRatingStats;
+import com.practice.example.service.HelpfulReviewRanking;
+import com.practice.example.service.OrganizationStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OrganizationControllerTest {
+
+    private OrganizationStatsService organizationStatsService;
+    private HelpfulReviewRanking helpfulReviewRanking;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        organizationStatsService = Mockito.mock(OrganizationStatsService.class);
+        helpfulReviewRanking = Mockito.mock(HelpfulReviewRanking.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrganizationController(organizationStatsService, helpfulReviewRanking)).build();
+    }
+
+    @Test
+    void getRatingSummary_returnsAverageAndHistogram() throws Exception {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        OrganizationRatingStats stats = OrganizationRatingStats.builder()
+                .organizationId(orgId)
+                .reviewCount(4)
+                .ratingSum(14)
+                .rating3(2)
+                .rating4(0)
+                .rating5(1)
+                .rating2(1)
+                .likeCount(10)
+                .dislikeCount(2)
+                .build();
+        when(organizationStatsService.getRatingSummary(orgId)).thenReturn(OrganizationRatingSummary.of(stats));
+
+        // Act & Assert
+        mockMvc.perform(get("/organizations/" + orgId + "/rating-summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(4))
+                .andExpect(jsonPath("$.averageRating").value(3.5))
+                .andExpect(jsonPath("$.histogram.3").value(2))
+                .andExpect(jsonPath("$.likeCount").value(10));
+    }
+
+    @Test
+    void getRatingSummary_withoutReviews_returnsEmptySummary() throws Exception {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        when(organizationStatsService.getRatingSummary(orgId)).thenReturn(OrganizationRatingSummary.empty(orgId));
+
+        // Act & Assert
+        mockMvc.perform(get("/organizations/" + orgId + "/rating-summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").doesNotExist());
+    }
+
+    @Test
+    void getMostHelpful_returnsRankedReviews() throws Exception {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        UUID reviewId = UUID.randomUUID();
+        when(helpfulReviewRanking.getMostHelpful(orgId, 5)).thenReturn(List.of(
+                new HelpfulReview(reviewId, Instant.parse("2024-01-01T00:00:00Z"), 40, 2, 0.84)));
+
+        // Act & Assert
+        mockMvc.perform(get("/organizations/" + orgId + "/helpful-reviews").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].reviewId").value(reviewId.toString()))
+                .andExpect(jsonPath("$[0].likeCount").value(40))
+                .andExpect(jsonPath("$[0].wilsonScore").value(0.84));
+    }
+
+    @Test
+    void getMostHelpful_defaultLimit() throws Exception {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        when(helpfulReviewRanking.getMostHelpful(orgId, HelpfulReviewRanking.DEFAULT_LIMIT)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/organizations/" + orgId + "/helpful-reviews"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
@@ -3,7 +3,14 @@ package com.practice.example.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.practice.example.dto.AddReactionRequest;
 import com.practice.example.dto.CreateReviewRequest;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewThread;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.dto.ReviewThreadNode;
 import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewReactions;
 import com.practice.example.service.ReviewService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +22,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.time.Instant;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -109,19 +117,9 @@ class ReviewControllerTest {
         AddReactionRequest req = new AddReactionRequest();
         req.setReactionType("LIKE");
 
-        Review mockReview = Review.builder()
-                .id(reviewId)
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("T")
-                .content("C")
-                .publishedAt(Instant.now())
-                .ratingValue(1)
-                .likeCount(1)
-                .dislikeCount(0)
-                .build();
+        ReviewReactionCounts counts = new ReviewReactionCounts(reviewId, 1, 0);
 
-        when(reviewService.addReaction(reviewId, "LIKE")).thenReturn(mockReview);
+        when(reviewService.addReaction(reviewId, "LIKE")).thenReturn(counts);
 
         // Act & Assert
         mockMvc.perform(post("/reviews/" + reviewId + "/reactions")
@@ -153,40 +151,133 @@ class ReviewControllerTest {
     }
 
     @Test
-    void getAllReviews_returnsList() throws Exception {
+    void getReviews_returnsPageWithCursor() throws Exception {
         // Arrange
-        Review r1 = Review.builder()
-                .id(UUID.randomUUID())
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("A")
-                .content("a")
-                .publishedAt(Instant.now())
-                .ratingValue(1)
-                .likeCount(0)
-                .dislikeCount(0)
-                .build();
+        UUID orgId = UUID.randomUUID();
+        ReviewView r1 = new ReviewView(UUID.randomUUID(), UUID.randomUUID(), orgId, "A", "a", true, null,
+                Instant.now(), 1, 0, 0);
+        UUID parentId = UUID.randomUUID();
+        ReviewView r2 = new ReviewView(UUID.randomUUID(), UUID.randomUUID(), orgId, "B", "b", parentId,
+                Instant.now(), 2, 0, 0);
 
-        Review r2 = Review.builder()
-                .id(UUID.randomUUID())
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("B")
-                .content("b")
-                .publishedAt(Instant.now())
-                .ratingValue(2)
-                .likeCount(0)
-                .dislikeCount(0)
-                .build();
+        when(reviewService.getReviews(orgId, null, null, null, 2, true))
+                .thenReturn(new ReviewPage<>(List.of(r1, r2), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews")
+                        .param("organizationId", orgId.toString())
+                        .param("limit", "2")
+                        .param("preview", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].ratingValue").value(1))
+                .andExpect(jsonPath("$.items[0].contentTruncated").value(true))
+                .andExpect(jsonPath("$.items[1].contentTruncated").value(false))
+                .andExpect(jsonPath("$.items[1].parentReviewId").value(parentId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(reviewService, times(1)).getReviews(orgId, null, null, null, 2, true);
+    }
+
+    @Test
+    void getReviews_malformedCursor_returns400() throws Exception {
+        // Arrange
+        when(reviewService.getReviews(any(), any(), any(), eq("broken"), anyInt(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Malformed cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_returnsRankedPreviews() throws Exception {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        ReviewView hit = new ReviewView(UUID.randomUUID(), UUID.randomUUID(), orgId, "Great coffee", "coffee...", true,
+                null, Instant.now(), 5, 0, 0);
+        when(reviewService.search("coffee", orgId, null, 10)).thenReturn(new ReviewPage<>(List.of(hit), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews/search")
+                        .param("q", "coffee")
+                        .param("organizationId", orgId.toString())
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(hit.getId().toString()))
+                .andExpect(jsonPath("$.items[0].contentTruncated").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void search_blankQuery_returns400() throws Exception {
+        // Arrange
+        when(reviewService.search(eq(" "), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Search query must not be blank"));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reviews/search"))
+                .andExpect(status().isBadRequest());
+    }
 
-        when(reviewService.getAllReviews()).thenReturn(List.of(r1, r2));
+    @Test
+    void getReview_exists_returnsDetails() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ReviewDetails details = new ReviewDetails(id, UUID.randomUUID(), UUID.randomUUID(), "T", "C",
+                Optional.empty(), Instant.now());
+        details.addReaction(ReviewReactions.Type.LIKE, 3);
+        when(reviewService.getReview(id)).thenReturn(details);
 
         // Act & Assert
-        mockMvc.perform(get("/reviews"))
+        mockMvc.perform(get("/reviews/" + id))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.reactions.LIKE").value(3));
+    }
+
+    @Test
+    void getReview_notFound_returns404() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(reviewService.getReview(id)).thenThrow(new NoSuchElementException("not found"));
 
-        verify(reviewService, times(1)).getAllReviews();
+        // Act & Assert
+        mockMvc.perform(get("/reviews/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getThread_returnsNestedReplies() throws Exception {
+        // Arrange
+        UUID rootId = UUID.randomUUID();
+        UUID replyId = UUID.randomUUID();
+        ReviewThreadNode root = new ReviewThreadNode(new ReviewDetails(rootId, UUID.randomUUID(), UUID.randomUUID(),
+                "Root", "R", Optional.empty(), Instant.now()));
+        root.getReplies().add(new ReviewThreadNode(new ReviewDetails(replyId, UUID.randomUUID(), UUID.randomUUID(),
+                "Reply", "C", Optional.of(rootId), Instant.now())));
+        when(reviewService.getThread(rootId, 3, ReviewService.DEFAULT_THREAD_SIZE))
+                .thenReturn(new ReviewThread(root, 2, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews/" + rootId + "/thread").param("depth", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.root.review.id").value(rootId.toString()))
+                .andExpect(jsonPath("$.root.replies[0].review.id").value(replyId.toString()));
+    }
+
+    @Test
+    void getThread_missingRoot_returns404() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(reviewService.getThread(eq(id), anyInt(), anyInt())).thenThrow(new NoSuchElementException("not found"));
+
+        // Act & Assert
+        mockMvc.perform(get("/reviews/" + id + "/thread"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.practice.example.infra.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T12:34:56.789Z");
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        UUID id = generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+    }
+
+    @Test
+    void next_withinSameMillisecond_isStrictlyIncreasing() {
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        UUID previous = generator.next();
+        // Больше 4096 ключей за одну миллисекунду: счетчик переполняется в поле времени
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.next();
+            assertThat(current).isGreaterThan(previous);
+            assertThat(current.version()).isEqualTo(7);
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_whenClockGoesBack_staysMonotonic() {
+        MutableClock clock = new MutableClock(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock);
+
+        UUID before = generator.next();
+        clock.now = NOW.minusSeconds(5);
+
+        assertThat(generator.next()).isGreaterThan(before);
+    }
+
+    @Test
+    void next_concurrently_uniqueAndMonotonicPerThread() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    UUID previous = generator.next();
+                    all.add(previous);
+                    boolean ordered = true;
+                    for (int i = 0; i < 20_000; i++) {
+                        UUID current = generator.next();
+                        ordered &= current.compareTo(previous) > 0;
+                        all.add(current);
+                        previous = current;
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(all).hasSize(8 * 20_001);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.practice.example.infra.kafka;
+
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReviewEventBinaryCodecTest {
+
+    private final ReviewEventBinaryCodec codec = new ReviewEventBinaryCodec();
+
+    @Test
+    void encode_decode_roundTrip() {
+        ReviewDetails details = details(Optional.of(UUID.randomUUID()), "Отзыв \"с кавычками\"\n👍");
+        details.addReaction(ReviewReactions.Type.LIKE, 300);
+        details.addReaction(ReviewReactions.Type.DISLIKE, 1);
+
+        ReviewDetails decoded = codec.decode(codec.encode(details));
+
+        assertThat(decoded.getId()).isEqualTo(details.getId());
+        assertThat(decoded.getAuthorId()).isEqualTo(details.getAuthorId());
+        assertThat(decoded.getOrganizationId()).isEqualTo(details.getOrganizationId());
+        assertThat(decoded.getParentReviewId()).isEqualTo(details.getParentReviewId());
+        assertThat(decoded.getTitle()).isEqualTo(details.getTitle());
+        assertThat(decoded.getContent()).isEqualTo(details.getContent());
+        assertThat(decoded.getPublishedAt()).isEqualTo(details.getPublishedAt());
+        assertThat(decoded.getRating().getValue()).isEqualTo(4);
+        assertThat(decoded.getReactions()).isEqualTo(details.getReactions());
+        assertThat(decoded.getEmojiReactions()).isEqualTo(details.getEmojiReactions());
+    }
+
+    @Test
+    void encode_withoutOptionalFields_roundTrip() {
+        ReviewDetails details = new ReviewDetails(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                null, "", Optional.empty(), null, null, null);
+
+        ReviewDetails decoded = codec.decode(codec.encode(details));
+
+        assertThat(decoded.getParentReviewId()).isEmpty();
+        assertThat(decoded.getTitle()).isNull();
+        assertThat(decoded.getContent()).isEmpty();
+        assertThat(decoded.getPublishedAt()).isNull();
+        assertThat(decoded.getRating()).isNull();
+    }
+
+    @Test
+    void encode_startsWithVersionedHeader_andIsSmallerThanJson() {
+        ReviewDetails details = details(Optional.of(UUID.randomUUID()), "Коротко");
+
+        byte[] binary = codec.encode(details);
+        byte[] json = new ReviewEventJsonWriter().write(details);
+
+        assertThat(binary[0]).isEqualTo(ReviewEventBinaryCodec.MAGIC);
+        assertThat(binary[1]).isEqualTo(ReviewEventBinaryCodec.VERSION);
+        assertThat(ReviewEventEncoding.detect(binary)).isEqualTo(ReviewEventEncoding.BINARY);
+        assertThat(ReviewEventEncoding.detect(json)).isEqualTo(ReviewEventEncoding.JSON);
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void encode_truncatesPublishedAtToMicros() {
+        ReviewDetails details = ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .parentReviewId(Optional.empty())
+                .publishedAt(Instant.parse("1969-12-31T23:59:59.123456789Z"))
+                .build();
+
+        assertThat(codec.decode(codec.encode(details)).getPublishedAt())
+                .isEqualTo(Instant.parse("1969-12-31T23:59:59.123456Z"));
+    }
+
+    @Test
+    void decode_unknownVersionOrFormat_isRejected() {
+        byte[] payload = codec.encode(details(Optional.empty(), "c"));
+        payload[1] = 2;
+
+        assertThatThrownBy(() -> codec.decode(payload))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+        assertThatIllegalArgumentException().isThrownBy(() -> codec.decode("{}".getBytes()));
+        assertThatIllegalArgumentException().isThrownBy(() -> codec.decode(new byte[]{0, 1, 0, 1}));
+    }
+
+    @Test
+    void decode_emojiCountBeyondPayload_isRejected() {
+        byte[] payload = codec.encode(ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("t")
+                .build());
+
+        // Последний байт — число эмодзи-реакций (0): заменяем на Integer.MAX_VALUE и на -1
+        assertThatThrownBy(() -> codec.decode(withEmojiCount(payload, 0xFF, 0xFF, 0xFF, 0xFF, 0x07)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("emoji");
+        assertThatThrownBy(() -> codec.decode(withEmojiCount(payload, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("emoji");
+    }
+
+    private static byte[] withEmojiCount(byte[] payload, int... varint) {
+        byte[] corrupted = Arrays.copyOf(payload, payload.length - 1 + varint.length);
+        for (int i = 0; i < varint.length; i++) {
+            corrupted[payload.length - 1 + i] = (byte) varint[i];
+        }
+        return corrupted;
+    }
+
+    private static ReviewDetails details(Optional<UUID> parentId, String content) {
+        return ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Заголовок")
+                .content(content)
+                .parentReviewId(parentId)
+                .publishedAt(Instant.parse("2024-05-01T12:34:56.789123Z"))
+                .rating(new ReviewRating(4))
+                .emojiReactions(EmojiReactionCounts.of(new int[]{0x2764, 0x1F44D}, new int[]{3, 12}))
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.practice.example.infra.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EmbeddedKafka(partitions = 1, topics = {ReviewEventEncodingKafkaTest.JSON_TOPIC, ReviewEventEncodingKafkaTest.BINARY_TOPIC})
+class ReviewEventEncodingKafkaTest {
+
+    static final String JSON_TOPIC = "reviews-json";
+    static final String BINARY_TOPIC = "reviews-binary";
+
+    private final ReviewEventJsonWriter jsonWriter = new ReviewEventJsonWriter();
+    private final ReviewEventBinaryCodec binaryCodec = new ReviewEventBinaryCodec();
+
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void bothEncodings_roundTripThroughBroker(EmbeddedKafkaBroker broker) throws Exception {
+        ReviewDetails details = details();
+
+        ConsumerRecord<String, byte[]> json = publishAndConsume(broker, ReviewEventEncoding.JSON, JSON_TOPIC, details);
+        ConsumerRecord<String, byte[]> binary = publishAndConsume(broker, ReviewEventEncoding.BINARY, BINARY_TOPIC, details);
+
+        assertThat(ReviewEventEncoding.detect(json.value())).isEqualTo(ReviewEventEncoding.JSON);
+        assertThat(ReviewEventEncoding.detect(binary.value())).isEqualTo(ReviewEventEncoding.BINARY);
+        assertThat(json.key()).isEqualTo(details.getOrganizationId().toString());
+        assertThat(binary.key()).isEqualTo(json.key());
+
+        JsonNode fromJson = new ObjectMapper().readTree(json.value());
+        ReviewDetails fromBinary = binaryCodec.decode(binary.value());
+        assertThat(fromBinary.getId().toString()).isEqualTo(fromJson.get("id").asText());
+        assertThat(fromBinary.getContent()).isEqualTo(fromJson.get("content").asText());
+        assertThat(fromBinary.getPublishedAt().toString()).isEqualTo(fromJson.get("publishedAt").asText());
+        assertThat(fromBinary.getRating().getValue()).isEqualTo(fromJson.get("rating").asInt());
+        assertThat(fromBinary.getReactions().get(ReviewReactions.Type.LIKE))
+                .isEqualTo(fromJson.get("reactions").get("LIKE").asInt());
+        assertThat(fromBinary.getEmojiReactions().get(0x1F44D))
+                .isEqualTo(fromJson.get("reactions").get("👍").asInt());
+        assertThat(binary.serializedValueSize()).isLessThan(json.serializedValueSize());
+    }
+
+    private ConsumerRecord<String, byte[]> publishAndConsume(EmbeddedKafkaBroker broker, ReviewEventEncoding encoding,
+                                                             String topic, ReviewDetails details) throws Exception {
+        ReviewKafkaProducer producer = new ReviewKafkaProducer(new KafkaTemplate<>(producerFactory),
+                new ReviewEventSerializer(jsonWriter, binaryCodec, encoding), new SimpleMeterRegistry(),
+                Runnable::run, topic, topic + ".DLT", 10, 0, 1, 1000);
+        producer.send(producer.keyOf(details), producer.serialize(details)).get(30, TimeUnit.SECONDS);
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps(topic + "-reader", "false", broker);
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, topic);
+            return KafkaTestUtils.getSingleRecord(consumer, topic, Duration.ofSeconds(30));
+        }
+    }
+
+    private static ReviewDetails details() {
+        ReviewDetails details = ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Отличный сервис")
+                .content("Быстро, вежливо.\nРекомендую 👍")
+                .parentReviewId(Optional.of(UUID.randomUUID()))
+                .publishedAt(Instant.parse("2024-05-01T12:34:56.789123Z"))
+                .rating(new ReviewRating(5))
+                .emojiReactions(EmojiReactionCounts.of(new int[]{0x1F44D}, new int[]{9}))
+                .build();
+        details.addReaction(ReviewReactions.Type.LIKE, 17);
+        return details;
+    }
+}
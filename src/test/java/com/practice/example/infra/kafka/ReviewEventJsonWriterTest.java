@@ -0,0 +1,109 @@
+package com.practice.example.infra.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.model.ReviewReactions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewEventJsonWriterTest {
+
+    private final ReviewEventJsonWriter writer = new ReviewEventJsonWriter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_producesEventReadableByJackson() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        ReviewDetails details = details(id, "Заголовок \"в кавычках\"", "строка\nвторая\t\\ \u0001 конец 👍",
+                Optional.of(parentId));
+        details.addReaction(ReviewReactions.Type.LIKE, 7);
+        details.addReaction(ReviewReactions.Type.DISLIKE, 2);
+
+        JsonNode json = objectMapper.readTree(writer.write(details));
+
+        assertThat(json.get("id").asText()).isEqualTo(id.toString());
+        assertThat(json.get("title").asText()).isEqualTo("Заголовок \"в кавычках\"");
+        assertThat(json.get("content").asText()).isEqualTo("строка\nвторая\t\\ \u0001 конец 👍");
+        assertThat(json.get("publishedAt").asText()).isEqualTo("2024-05-01T12:34:56.789Z");
+        assertThat(json.get("rating").isInt()).isTrue();
+        assertThat(json.get("rating").asInt()).isEqualTo(4);
+        assertThat(json.get("reactions").get("LIKE").asInt()).isEqualTo(7);
+        assertThat(json.get("reactions").get("DISLIKE").asInt()).isEqualTo(2);
+        assertThat(json.get("reactions").get("👍").asInt()).isEqualTo(5);
+        assertThat(json.get("reactions").has("EMOJI")).isFalse();
+        assertThat(json.get("parentReviewId").asText()).isEqualTo(parentId.toString());
+    }
+
+    @Test
+    void write_withoutParent_writesNull() throws Exception {
+        JsonNode json = objectMapper.readTree(writer.write(details(UUID.randomUUID(), "t", "c", Optional.empty())));
+
+        assertThat(json.get("parentReviewId").isNull()).isTrue();
+    }
+
+    @Test
+    void writeString_loneSurrogate_isReplaced() {
+        ReviewEventJsonWriter.Buffer buffer = new ReviewEventJsonWriter.Buffer(4);
+
+        ReviewEventJsonWriter.writeString(buffer, "a\uD83Db");
+
+        assertThat(new String(buffer.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("\"a�b\"");
+    }
+
+    @Test
+    void writeInstant_matchesInstantToString() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long seconds = random.nextLong(-62_135_596_800L, 253_402_300_799L);
+            int nanos = switch (i % 4) {
+                case 0 -> 0;
+                case 1 -> random.nextInt(1000) * 1_000_000;
+                case 2 -> random.nextInt(1_000_000) * 1000;
+                default -> random.nextInt(1_000_000_000);
+            };
+            Instant instant = Instant.ofEpochSecond(seconds, nanos);
+            ReviewEventJsonWriter.Buffer buffer = new ReviewEventJsonWriter.Buffer(8);
+
+            ReviewEventJsonWriter.writeInstant(buffer, instant);
+
+            assertThat(new String(buffer.toByteArray(), StandardCharsets.US_ASCII)).isEqualTo("\"" + instant + "\"");
+        }
+    }
+
+    @Test
+    void writeUuid_matchesUuidToString() {
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.randomUUID();
+            ReviewEventJsonWriter.Buffer buffer = new ReviewEventJsonWriter.Buffer(8);
+
+            ReviewEventJsonWriter.writeUuid(buffer, uuid);
+
+            assertThat(new String(buffer.toByteArray(), StandardCharsets.US_ASCII)).isEqualTo("\"" + uuid + "\"");
+        }
+    }
+
+    private static ReviewDetails details(UUID id, String title, String content, Optional<UUID> parentId) {
+        return ReviewDetails.builder()
+                .id(id)
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title(title)
+                .content(content)
+                .parentReviewId(parentId)
+                .publishedAt(Instant.parse("2024-05-01T12:34:56.789Z"))
+                .rating(new ReviewRating(4))
+                .emojiReactions(EmojiReactionCounts.of(new int[]{0x1F44D}, new int[]{5}))
+                .build();
+    }
+}
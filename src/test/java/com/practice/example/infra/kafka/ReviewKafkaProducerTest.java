@@ -0,0 +1,149 @@
+package com.practice.example.infra.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReviewKafkaProducerTest {
+
+    private static final byte[] PAYLOAD = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void send_acknowledged_completesAndRecordsLatency() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(acknowledged());
+
+        CompletableFuture<Void> result = producer(10, 2).send("key", PAYLOAD);
+
+        assertThat(result).isCompleted();
+        assertThat(meterRegistry.get("review.kafka.send").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("review.kafka.send.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void send_transientFailure_isRetried() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("timeout")))
+                .thenReturn(acknowledged());
+
+        CompletableFuture<Void> result = producer(10, 2).send("key", PAYLOAD);
+
+        assertThat(result).succeedsWithin(5, TimeUnit.SECONDS);
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        assertThat(meterRegistry.get("review.kafka.send.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_retriesExhausted_goesToDeadLetterTopic() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        when(kafkaTemplate.send(records.capture())).thenAnswer(invocation -> {
+            ProducerRecord<String, byte[]> record = invocation.getArgument(0);
+            return record.topic().equals("reviews.DLT")
+                    ? acknowledged()
+                    : CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+        });
+
+        CompletableFuture<Void> result = producer(10, 1).send("key", PAYLOAD);
+
+        assertThat(result).succeedsWithin(5, TimeUnit.SECONDS);
+        ProducerRecord<String, byte[]> deadLetter = records.getAllValues().get(records.getAllValues().size() - 1);
+        assertThat(deadLetter.topic()).isEqualTo("reviews.DLT");
+        assertThat(deadLetter.value()).isEqualTo(PAYLOAD);
+        assertThat(deadLetter.headers().lastHeader(ReviewKafkaProducer.ERROR_HEADER)).isNotNull();
+        assertThat(meterRegistry.get("review.kafka.send.dead.lettered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_deadLetterAlsoFails_completesExceptionally() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        CompletableFuture<Void> result = producer(10, 0).send("key", PAYLOAD);
+
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("review.kafka.send").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_synchronousTemplateError_isTreatedAsFailedSend() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenThrow(new IllegalStateException("max.block.ms expired"))
+                .thenReturn(acknowledged());
+
+        assertThat(producer(10, 1).send("key", PAYLOAD)).succeedsWithin(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void send_inFlightLimitReached_rejectsAfterTimeout() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        ReviewKafkaProducer producer = producer(1, 0);
+
+        CompletableFuture<Void> first = producer.send("k1", PAYLOAD);
+        CompletableFuture<Void> second = producer.send("k2", PAYLOAD);
+
+        assertThat(first).isNotDone();
+        assertThat(second).isCompletedExceptionally();
+        assertThatThrownBy(second::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        verify(kafkaTemplate, times(1)).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void sendOnce_failure_isNotRetriedNorDeadLettered() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        ReviewKafkaProducer producer = producer(1, 3);
+
+        CompletableFuture<Void> result = producer.sendOnce("key", PAYLOAD);
+
+        assertThat(result).isCompletedExceptionally();
+        verify(kafkaTemplate, times(1)).send(any(ProducerRecord.class));
+        assertThat(producer.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void sendOnce_inFlightLimitReached_rejectsWithoutWaiting() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        ReviewKafkaProducer producer = producer(1, 0);
+        producer.sendOnce("k1", PAYLOAD);
+
+        CompletableFuture<Void> second = producer.sendOnce("k2", PAYLOAD);
+
+        assertThatThrownBy(second::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(producer.availablePermits()).isZero();
+    }
+
+    private ReviewKafkaProducer producer(int maxInFlight, int maxRetries) {
+        return new ReviewKafkaProducer(kafkaTemplate, new ReviewEventSerializer(new ReviewEventJsonWriter(),
+                new ReviewEventBinaryCodec(), ReviewEventEncoding.JSON), meterRegistry, Runnable::run, "reviews", "reviews.DLT",
+                maxInFlight, maxRetries, 1, 10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, byte[]>> acknowledged() {
+        return CompletableFuture.completedFuture(mock(SendResult.class));
+    }
+}
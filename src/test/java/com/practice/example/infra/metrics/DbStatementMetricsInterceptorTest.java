@@ -0,0 +1,58 @@
+package com.practice.example.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DbStatementMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DbStatementMetricsInterceptor interceptor = new DbStatementMetricsInterceptor(meterRegistry);
+
+    private final StatementCounter statementCounter = new StatementCounter();
+
+    @Test
+    void afterCompletion_recordsStatementsOfRequestUnderUriTemplate() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reviews/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/reviews/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        statementCounter.inspect("select 1");
+        statementCounter.inspect("select 2");
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        DistributionSummary summary = meterRegistry.get(DbStatementMetricsInterceptor.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/reviews/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsOutsideRequest_areNotCounted() {
+        statementCounter.inspect("select 1");
+
+        assertThat(StatementCounter.stop()).isEqualTo(-1);
+    }
+
+    @Test
+    void asyncRequest_isNotRecordedOnHandlerThread() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reviews/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        statementCounter.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(meterRegistry.find(DbStatementMetricsInterceptor.METRIC).summary()).isNull();
+    }
+}
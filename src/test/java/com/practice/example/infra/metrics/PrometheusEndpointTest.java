@@ -0,0 +1,48 @@
+package com.practice.example.infra.metrics;
+
+import com.practice.example.model.Review;
+import com.practice.example.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "review.outbox.relay.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    void prometheus_exposesHttpServiceRepositoryAndStatementMetrics() throws Exception {
+        Review review = reviewService.createReview(UUID.randomUUID(), UUID.randomUUID(), "T", "C", null, 5);
+        mockMvc.perform(get("/reviews/{id}", review.getId())).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/reviews/{id}\"")
+                .contains("review_service_seconds_bucket{")
+                .contains("method=\"createReview\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("http_server_requests_db_statements_count{")
+                .contains("review_kafka_serialize_seconds_bucket{");
+        assertThat(scrape).doesNotContain(review.getId().toString());
+    }
+}
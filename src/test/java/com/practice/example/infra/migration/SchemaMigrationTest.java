@@ -0,0 +1,148 @@
+package com.practice.example.infra.migration;
+
+import com.practice.example.model.CompressedTextConverter;
+import com.practice.example.model.Review;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Миграции на базе, созданной предыдущей версией маппинга, и на пустой базе
+class SchemaMigrationTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+    }
+
+    @Test
+    void migrate_emptySchema_leavesTablesToHibernate() throws SQLException {
+        // Act
+        migrate();
+
+        // Assert
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(SchemaMigration.tableExists(connection, "review_outbox")).isFalse();
+            assertThat(SchemaMigration.tableExists(connection, "reviews")).isFalse();
+        }
+    }
+
+    @Test
+    void migrate_legacyOutbox_schedulesPendingEventsAtCreation() throws SQLException {
+        // Arrange
+        execute("""
+                CREATE TABLE review_outbox (id UUID PRIMARY KEY, aggregate_id UUID NOT NULL,
+                    message_key VARCHAR(255) NOT NULL, payload VARBINARY(1000) NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, attempts INTEGER NOT NULL)""");
+        execute("CREATE INDEX idx_review_outbox_created_at_id ON review_outbox (created_at, id)");
+        execute("INSERT INTO review_outbox VALUES (RANDOM_UUID(), RANDOM_UUID(), 'k', X'01', " +
+                "TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00Z', 3)");
+
+        // Act
+        migrate();
+
+        // Assert
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT next_attempt_at = created_at, parked_at FROM review_outbox")) {
+            assertThat(rows.next()).isTrue();
+            assertThat(rows.getBoolean(1)).isTrue();
+            assertThat(rows.getObject(2)).isNull();
+        }
+    }
+
+    @Test
+    void migrate_reviewsWithoutRatingStats_backfillsAggregateOnce() throws SQLException {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        execute("""
+                CREATE TABLE reviews (id UUID PRIMARY KEY, organization_id UUID NOT NULL,
+                    rating_value INTEGER NOT NULL, like_count INTEGER NOT NULL, dislike_count INTEGER NOT NULL)""");
+        execute("INSERT INTO reviews VALUES (RANDOM_UUID(), '" + orgId + "', 5, 2, 1), " +
+                "(RANDOM_UUID(), '" + orgId + "', 3, 0, 4)");
+
+        // Act
+        migrate();
+
+        // Assert
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT organization_id, review_count, rating_sum, rating_5, " +
+                     "like_count, dislike_count FROM organization_rating_stats")) {
+            assertThat(rows.next()).isTrue();
+            assertThat(rows.getObject(1, UUID.class)).isEqualTo(orgId);
+            assertThat(rows.getLong(2)).isEqualTo(2);
+            assertThat(rows.getLong(3)).isEqualTo(8);
+            assertThat(rows.getLong(4)).isEqualTo(1);
+            assertThat(rows.getLong(5)).isEqualTo(2);
+            assertThat(rows.getLong(6)).isEqualTo(5);
+            assertThat(rows.next()).isFalse();
+        }
+    }
+
+    @Test
+    void migrate_textContent_convertsToStoredFormatAndBackfillsPreview() throws SQLException {
+        // Arrange
+        String longContent = "Очень подробный отзыв. ".repeat(40);
+        execute("""
+                CREATE TABLE reviews (id UUID PRIMARY KEY, organization_id UUID NOT NULL, content CLOB,
+                    rating_value INTEGER NOT NULL, like_count INTEGER NOT NULL, dislike_count INTEGER NOT NULL)""");
+        execute("INSERT INTO reviews VALUES ('00000000-0000-0000-0000-000000000001', RANDOM_UUID(), 'Коротко', 5, 0, 0), " +
+                "('00000000-0000-0000-0000-000000000002', RANDOM_UUID(), '" + longContent + "', 4, 0, 0), " +
+                "('00000000-0000-0000-0000-000000000003', RANDOM_UUID(), NULL, 3, 0, 0)");
+
+        // Act
+        migrate();
+
+        // Assert
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT content, content_preview, content_truncated FROM reviews ORDER BY id")) {
+            assertThat(SchemaMigration.columnType(connection, "reviews", "content")).isEqualTo(Types.VARBINARY);
+            assertThat(rows.next()).isTrue();
+            assertThat(rows.getBytes(1)[0]).isEqualTo((byte) 0);
+            assertThat(CompressedTextConverter.decode(rows.getBytes(1))).isEqualTo("Коротко");
+            assertThat(rows.getString(2)).isEqualTo("Коротко");
+            assertThat(rows.getBoolean(3)).isFalse();
+            assertThat(rows.next()).isTrue();
+            assertThat(CompressedTextConverter.decode(rows.getBytes(1))).isEqualTo(longContent);
+            assertThat(rows.getString(2)).isEqualTo(longContent.substring(0, Review.PREVIEW_LENGTH));
+            assertThat(rows.getBoolean(3)).isTrue();
+            assertThat(rows.next()).isTrue();
+            assertThat(rows.getBytes(1)).isNull();
+            assertThat(rows.getString(2)).isNull();
+            assertThat(rows.getBoolean(3)).isFalse();
+        }
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:com/practice/example/infra/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            SchemaMigration.execute(connection, sql);
+        }
+    }
+}
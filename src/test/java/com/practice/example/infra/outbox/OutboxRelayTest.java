@@ -0,0 +1,227 @@
+package com.practice.example.infra.outbox;
+
+import com.practice.example.infra.kafka.ReviewKafkaProducer;
+import com.practice.example.model.OutboxEvent;
+import com.practice.example.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private ReviewKafkaProducer reviewKafkaProducer;
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = Mockito.mock(OutboxEventRepository.class);
+        reviewKafkaProducer = Mockito.mock(ReviewKafkaProducer.class);
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry = new SimpleMeterRegistry();
+        when(reviewKafkaProducer.availablePermits()).thenReturn(1000);
+    }
+
+    @Test
+    void relayBatch_sendsAllThenDeletesAcknowledged() {
+        OutboxEvent first = event("k1", "p1");
+        OutboxEvent second = event("k2", "p2");
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(first, second));
+        when(reviewKafkaProducer.sendOnce(anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int published = relay(10).relayBatch();
+
+        assertThat(published).isEqualTo(2);
+        verify(reviewKafkaProducer).sendOnce("k1", bytes("p1"));
+        verify(reviewKafkaProducer).sendOnce("k2", bytes("p2"));
+        verify(outboxEventRepository).deleteByIds(List.of(first.getId(), second.getId()));
+        assertThat(meterRegistry.get("review.outbox.relay.batch.size").summary().totalAmount()).isEqualTo(2);
+        verify(outboxEventRepository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_leasesBatchAndCommitsBeforeSending() {
+        OutboxEvent event = event("k1", "p1");
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(event));
+        when(reviewKafkaProducer.sendOnce(anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay(10).relayBatch();
+
+        InOrder order = inOrder(outboxEventRepository, transactionManager, reviewKafkaProducer);
+        order.verify(outboxEventRepository).lockNextBatch(any(), eq(10));
+        order.verify(outboxEventRepository).lease(eq(List.of(event.getId())),
+                argThat(until -> until.isAfter(Instant.now().plusMillis(500))));
+        order.verify(transactionManager).commit(any());
+        order.verify(reviewKafkaProducer).sendOnce("k1", bytes("p1"));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxEventRepository).deleteByIds(List.of(event.getId()));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void relayBatch_failedSendsStayInOutbox() {
+        OutboxEvent ok = event("k1", "p1");
+        OutboxEvent broken = event("k2", "p2");
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(ok, broken));
+        when(reviewKafkaProducer.sendOnce("k1", bytes("p1")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(reviewKafkaProducer.sendOnce("k2", bytes("p2")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        int published = relay(10).relayBatch();
+
+        assertThat(published).isEqualTo(1);
+        verify(outboxEventRepository).deleteByIds(List.of(ok.getId()));
+        verify(outboxEventRepository).scheduleRetry(eq(List.of(broken.getId())), any(),
+                argThat(next -> next.isAfter(Instant.now().plusMillis(500))));
+        verify(outboxEventRepository, never()).park(any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_eventOutOfAttempts_isParked() {
+        OutboxEvent exhausted = event("k1", "p1");
+        exhausted.setAttempts(4);
+        OutboxEvent retried = event("k2", "p2");
+        retried.setAttempts(1);
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(exhausted, retried));
+        when(reviewKafkaProducer.sendOnce(anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(outboxEventRepository.park(eq(List.of(exhausted.getId())), any(), any())).thenReturn(1);
+
+        int published = relay(10).relayBatch();
+
+        assertThat(published).isZero();
+        verify(outboxEventRepository).park(eq(List.of(exhausted.getId())), any(), any());
+        verify(outboxEventRepository).scheduleRetry(eq(List.of(retried.getId())), any(), any());
+        assertThat(meterRegistry.get("review.outbox.relay.parked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryBackoff_doublesUpToMaximum() {
+        OutboxRelay relay = relay(10);
+
+        assertThat(relay.retryBackoff(1)).isEqualTo(1000);
+        assertThat(relay.retryBackoff(2)).isEqualTo(2000);
+        assertThat(relay.retryBackoff(4)).isEqualTo(8000);
+        assertThat(relay.retryBackoff(40)).isEqualTo(60_000);
+    }
+
+    @Test
+    void relayBatch_unacknowledgedWithinTimeout_isRetriedLater() {
+        OutboxEvent pending = event("k1", "p1");
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(pending));
+        when(reviewKafkaProducer.sendOnce("k1", bytes("p1"))).thenReturn(new CompletableFuture<>());
+
+        int published = new OutboxRelay(outboxEventRepository, reviewKafkaProducer, transactionTemplate, meterRegistry,
+                true, 10, 10, 5, 1000, 60_000).relayBatch();
+
+        assertThat(published).isZero();
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        verify(outboxEventRepository).scheduleRetry(eq(List.of(pending.getId())), any(), any());
+    }
+
+    @Test
+    void poll_drainsFullBatchesUntilQueueIsShort() {
+        when(outboxEventRepository.lockNextBatch(any(), eq(2)))
+                .thenReturn(List.of(event("a", "1"), event("b", "2")))
+                .thenReturn(List.of(event("c", "3")));
+        when(reviewKafkaProducer.sendOnce(anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay(2).poll();
+
+        verify(outboxEventRepository, times(2)).lockNextBatch(any(), eq(2));
+        verify(reviewKafkaProducer, times(3)).sendOnce(anyString(), any(byte[].class));
+    }
+
+    @Test
+    void relayBatch_takesNoMoreEventsThanFreeSendPermits() {
+        when(reviewKafkaProducer.availablePermits()).thenReturn(3);
+        when(outboxEventRepository.lockNextBatch(any(), eq(3))).thenReturn(List.of());
+
+        relay(10).relayBatch();
+
+        verify(outboxEventRepository).lockNextBatch(any(), eq(3));
+    }
+
+    @Test
+    void relayBatch_noFreeSendPermits_locksNothing() {
+        when(reviewKafkaProducer.availablePermits()).thenReturn(0);
+
+        assertThat(relay(10).relayBatch()).isZero();
+
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    @Test
+    void relayBatch_rejectedSend_isNotCountedAsAttempt() {
+        OutboxEvent event = event("k1", "p1");
+        when(outboxEventRepository.lockNextBatch(any(), eq(10))).thenReturn(List.of(event));
+        when(reviewKafkaProducer.sendOnce("k1", bytes("p1")))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        assertThat(relay(10).relayBatch()).isZero();
+
+        verify(outboxEventRepository).release(eq(List.of(event.getId())), any(), any());
+        verify(outboxEventRepository, never()).scheduleRetry(any(), any(), any());
+        verify(outboxEventRepository, never()).park(any(), any(), any());
+    }
+
+    @Test
+    void constructor_sendTimeoutNotAboveDeliveryTimeout_failsFast() {
+        when(reviewKafkaProducer.deliveryTimeoutMs()).thenReturn(25_000L);
+
+        assertThatThrownBy(() -> new OutboxRelay(outboxEventRepository, reviewKafkaProducer, transactionTemplate,
+                meterRegistry, true, 10, 25_000, 5, 1000, 60_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("send-timeout-ms");
+    }
+
+    @Test
+    void poll_disabled_doesNothing() {
+        new OutboxRelay(outboxEventRepository, reviewKafkaProducer, transactionTemplate, meterRegistry,
+                false, 10, 1000, 5, 1000, 60_000).poll();
+
+        verifyNoInteractions(outboxEventRepository, reviewKafkaProducer);
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        return new OutboxRelay(outboxEventRepository, reviewKafkaProducer, transactionTemplate, meterRegistry,
+                true, batchSize, 1000, 5, 1000, 60_000);
+    }
+
+    private static OutboxEvent event(String key, String payload) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(UUID.randomUUID())
+                .messageKey(key)
+                .payload(bytes(payload))
+                .createdAt(Instant.now())
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.practice.example.infra.search;
+
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.Review;
+import com.practice.example.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReviewSearchIndexTest {
+
+    private final UUID orgId = UUID.randomUUID();
+
+    private ReviewRepository reviewRepository;
+    private ReviewSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reviewRepository = Mockito.mock(ReviewRepository.class);
+        index = new ReviewSearchIndex(reviewRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), "", false, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void search_requiresEveryTermAndRanksTitleMatchesFirst() throws IOException {
+        Review inTitle = review(orgId, "Great coffee", "Friendly staff and a quiet room");
+        Review inContent = review(orgId, "Nice place", "The coffee was great, staff friendly");
+        Review oneTerm = review(orgId, "Coffee", "Too loud");
+        index.indexAfterCommit(List.of(inTitle, inContent, oneTerm));
+        index.refreshBlocking();
+
+        List<SearchHit> hits = index.search("GREAT coffee!", null, null, 10);
+
+        assertThat(hits).extracting(SearchHit::reviewId).containsExactly(inTitle.getId(), inContent.getId());
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void search_filtersByOrganization() throws IOException {
+        Review own = review(orgId, "Coffee", "");
+        index.indexAfterCommit(List.of(own, review(UUID.randomUUID(), "Coffee", "")));
+        index.refreshBlocking();
+
+        assertThat(index.search("coffee", orgId, null, 10)).extracting(SearchHit::reviewId)
+                .containsExactly(own.getId());
+        assertThat(index.search("coffee", null, null, 10)).hasSize(2);
+    }
+
+    @Test
+    void search_pagesAfterLastHitWithoutGapsOrDuplicates() throws IOException {
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Одинаковые тексты дают равные оценки: порядок держится на id
+            reviews.add(review(orgId, "Coffee", i % 2 == 0 ? "coffee" : "tea"));
+        }
+        index.indexAfterCommit(reviews);
+        index.refreshBlocking();
+
+        List<UUID> seen = new ArrayList<>();
+        SearchHit after = null;
+        List<SearchHit> page;
+        while (!(page = index.search("coffee", null, after, 10)).isEmpty()) {
+            page.forEach(hit -> seen.add(hit.reviewId()));
+            after = page.get(page.size() - 1);
+        }
+
+        assertThat(seen).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(reviews.stream().map(Review::getId).toList());
+    }
+
+    @Test
+    void remove_andReindex_areVisibleToSearch() throws IOException {
+        Review removed = review(orgId, "Coffee", "");
+        Review edited = review(orgId, "Coffee", "");
+        index.indexAfterCommit(List.of(removed, edited));
+        edited.setTitle("Tea");
+
+        index.removeAfterCommit(removed.getId());
+        index.indexAfterCommit(edited);
+        index.refreshBlocking();
+
+        assertThat(index.search("coffee", null, null, 10)).isEmpty();
+        assertThat(index.search("tea", null, null, 10)).extracting(SearchHit::reviewId)
+                .containsExactly(edited.getId());
+    }
+
+    @Test
+    void rebuild_indexesEveryStoredReview() throws IOException {
+        ReviewView first = view(review(orgId, "Coffee", "Espresso"));
+        ReviewView second = view(review(orgId, "Tea", "Espresso"));
+        when(reviewRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        assertThat(index.rebuild()).isEqualTo(2);
+        index.refreshBlocking();
+
+        assertThat(index.search("espresso", orgId, null, 10)).hasSize(2);
+    }
+
+    @Test
+    void search_withoutWords_returnsNothing() {
+        assertThat(index.search("?! ...", null, null, 10)).isEmpty();
+    }
+
+    private static Review review(UUID organizationId, String title, String content) {
+        return Review.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(organizationId)
+                .title(title)
+                .content(content)
+                .publishedAt(Instant.now())
+                .ratingValue(5)
+                .build();
+    }
+
+    private static ReviewView view(Review review) {
+        return new ReviewView(review.getId(), review.getAuthorId(), review.getOrganizationId(), review.getTitle(),
+                review.getContent(), null, review.getPublishedAt(), review.getRatingValue(), 0, 0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.practice.example.load;
+
+/**
+ * Текущий режим: пул платформенных потоков Tomcat (по умолчанию 200).
+ */
+class PlatformThreadSlowClientLoadTest extends SlowClientLoadTest {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,390 @@
+package com.practice.example.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Нагрузочный прогон всего приложения: HTTP API, H2 и публикация событий через outbox во встроенную Kafka.
+ * Закрытый цикл: {@code load.concurrency} клиентов без пауз выполняют операции в пропорциях
+ * {@code load.mix}. Отчет (пропускная способность, p50/p99/p999 по операциям) печатается и
+ * пишется в {@code load.report} в формате JSON. Тест падает, только если доля ошибок (5xx и сетевых)
+ * превышает {@code load.max-error-rate}.
+ * <p>
+ * Запуск: {@code mvn -Pload test -Dtest=ReviewApiLoadTest -Dload.duration=60 -Dload.mix=create=10,reaction=60,list=30}.
+ * Другую базу можно подставить через {@code -Dspring.datasource.url=...}.
+ */
+@Tag("load")
+@EmbeddedKafka(partitions = 3, topics = {"reviews", "reviews.DLT"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.jpa.show-sql=false"
+})
+class ReviewApiLoadTest {
+
+    private static final String DEFAULT_MIX = "create=20,reply=10,reaction=40,list=25,delete=5";
+
+    private static final int ORGANIZATIONS = 20;
+
+    private static final int SEED_REVIEWS = 500;
+
+    private static final String[] REACTIONS = {"LIKE", "LIKE", "DISLIKE", "👍", "❤️", "🔥"};
+
+    enum Operation {
+        CREATE, REPLY, REACTION, LIST, DELETE
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final UUID[] organizations = new UUID[ORGANIZATIONS];
+
+    private final ReviewIds reviewIds = new ReviewIds(100_000);
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+        String mixSpec = System.getProperty("load.mix", DEFAULT_MIX);
+        Path reportPath = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.05"));
+        Mix mix = Mix.parse(mixSpec);
+
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            organizations[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < SEED_REVIEWS; i++) {
+            execute(Operation.CREATE);
+        }
+
+        runPhase(concurrency, warmup, mix);
+        long startedAt = System.nanoTime();
+        List<Recorder> recorders = runPhase(concurrency, duration, mix);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Map<String, Object> report = report(recorders, elapsedSeconds, concurrency, mixSpec);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println(objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+
+        long requests = ((Number) report.get("requests")).longValue();
+        long errors = ((Number) report.get("errors")).longValue();
+        assertThat(requests).isPositive();
+        assertThat((double) errors / requests).as("error rate").isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private List<Recorder> runPhase(int concurrency, Duration duration, Mix mix) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = mix.next();
+                        long start = System.nanoTime();
+                        Outcome outcome = execute(operation);
+                        recorder.record(operation, outcome, System.nanoTime() - start);
+                    }
+                    return recorder;
+                }));
+            }
+            List<Recorder> recorders = new ArrayList<>();
+            for (Future<Recorder> future : futures) {
+                recorders.add(future.get(duration.toSeconds() + 120, TimeUnit.SECONDS));
+            }
+            return recorders;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Outcome execute(Operation operation) {
+        try {
+            return switch (operation) {
+                case CREATE -> create(null);
+                case REPLY -> {
+                    String parent = reviewIds.random();
+                    yield parent == null ? create(null) : create(parent);
+                }
+                case REACTION -> {
+                    String id = reviewIds.random();
+                    if (id == null) {
+                        yield create(null);
+                    }
+                    String type = REACTIONS[ThreadLocalRandom.current().nextInt(REACTIONS.length)];
+                    yield outcome(send(post("/reviews/" + id + "/reactions", "{\"reactionType\":\"" + type + "\"}")));
+                }
+                case LIST -> outcome(send(HttpRequest.newBuilder(uri("/reviews?limit=20&organizationId="
+                        + organizations[ThreadLocalRandom.current().nextInt(ORGANIZATIONS)])).GET()));
+                case DELETE -> {
+                    String id = reviewIds.take();
+                    if (id == null) {
+                        yield create(null);
+                    }
+                    yield outcome(send(HttpRequest.newBuilder(uri("/reviews/" + id)).DELETE()));
+                }
+            };
+        } catch (IOException ex) {
+            return Outcome.ERROR;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    private Outcome create(String parentId) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = "{\"authorId\":\"" + UUID.randomUUID() + "\","
+                + "\"organizationId\":\"" + organizations[random.nextInt(ORGANIZATIONS)] + "\","
+                + "\"title\":\"Отзыв\","
+                + "\"content\":\"" + "Хорошее место, вкусный кофе. ".repeat(1 + random.nextInt(8)) + "\","
+                + "\"ratingValue\":" + (1 + random.nextInt(5)) + "}";
+        HttpResponse<String> response = send(parentId == null
+                ? post("/reviews", body)
+                : post("/reviews/" + parentId + "/reply", body));
+        if (response.statusCode() == 200) {
+            JsonNode created = objectMapper.readTree(response.body());
+            reviewIds.add(created.get("id").asText());
+        }
+        return outcome(response);
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // 404 на реакцию или ответ ожидаем: отзыв мог быть удален параллельным клиентом
+    private static Outcome outcome(HttpResponse<?> response) {
+        int status = response.statusCode();
+        if (status < 300) {
+            return Outcome.OK;
+        }
+        return status == 404 ? Outcome.NOT_FOUND : Outcome.ERROR;
+    }
+
+    private static Map<String, Object> report(List<Recorder> recorders, double elapsedSeconds,
+                                              int concurrency, String mix) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            long[] latencies = new long[0];
+            long operationErrors = 0;
+            long notFound = 0;
+            for (Recorder recorder : recorders) {
+                Recorder.Series series = recorder.series.get(operation);
+                latencies = concat(latencies, series.latencies, series.size);
+                operationErrors += series.errors;
+                notFound += series.notFound;
+            }
+            if (latencies.length == 0) {
+                continue;
+            }
+            Arrays.sort(latencies);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", latencies.length);
+            stats.put("errors", operationErrors);
+            stats.put("notFound", notFound);
+            stats.put("throughputPerSecond", round(latencies.length / elapsedSeconds));
+            stats.put("p50Ms", millis(latencies, 0.50));
+            stats.put("p99Ms", millis(latencies, 0.99));
+            stats.put("p999Ms", millis(latencies, 0.999));
+            stats.put("maxMs", round(latencies[latencies.length - 1] / 1e6));
+            operations.put(operation.name().toLowerCase(Locale.ROOT), stats);
+            requests += latencies.length;
+            errors += operationErrors;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("mix", mix);
+        report.put("durationSeconds", round(elapsedSeconds));
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("throughputPerSecond", round(requests / elapsedSeconds));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static long[] concat(long[] left, long[] right, int rightSize) {
+        long[] result = Arrays.copyOf(left, left.length + rightSize);
+        System.arraycopy(right, 0, result, left.length, rightSize);
+        return result;
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        return round(sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    enum Outcome {
+        OK, NOT_FOUND, ERROR
+    }
+
+    /**
+     * Взвешенный выбор операции по спецификации вида {@code create=20,reaction=40,list=40}.
+     */
+    static final class Mix {
+
+        private final Operation[] operations;
+
+        private final int[] cumulativeWeights;
+
+        private Mix(Operation[] operations, int[] cumulativeWeights) {
+            this.operations = operations;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        static Mix parse(String spec) {
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Malformed load.mix entry: " + part);
+                }
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    operations.add(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)));
+                    weights.add(total);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("load.mix has no operations: " + spec);
+            }
+            return new Mix(operations.toArray(Operation[]::new), weights.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Задержки одного клиента; сливаются в отчет после завершения фазы.
+     */
+    static final class Recorder {
+
+        private final Map<Operation, Series> series = new EnumMap<>(Operation.class);
+
+        Recorder() {
+            for (Operation operation : Operation.values()) {
+                series.put(operation, new Series());
+            }
+        }
+
+        void record(Operation operation, Outcome outcome, long nanos) {
+            Series target = series.get(operation);
+            if (target.size == target.latencies.length) {
+                target.latencies = Arrays.copyOf(target.latencies, target.latencies.length * 2);
+            }
+            target.latencies[target.size++] = nanos;
+            if (outcome == Outcome.ERROR) {
+                target.errors++;
+            } else if (outcome == Outcome.NOT_FOUND) {
+                target.notFound++;
+            }
+        }
+
+        static final class Series {
+            private long[] latencies = new long[1024];
+            private int size;
+            private long errors;
+            private long notFound;
+        }
+    }
+
+    /**
+     * Кольцо последних созданных отзывов: цели для ответов, реакций и удаления.
+     */
+    static final class ReviewIds {
+
+        private final AtomicReferenceArray<String> ids;
+
+        private final AtomicLong written = new AtomicLong();
+
+        ReviewIds(int capacity) {
+            this.ids = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(String id) {
+            ids.set((int) (written.getAndIncrement() % ids.length()), id);
+        }
+
+        String random() {
+            long size = Math.min(written.get(), ids.length());
+            return size == 0 ? null : ids.get(ThreadLocalRandom.current().nextInt((int) size));
+        }
+
+        // Удаляемый отзыв убираем из кольца, чтобы его не удалили повторно
+        String take() {
+            long size = Math.min(written.get(), ids.length());
+            if (size == 0) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt((int) size);
+            return ids.getAndSet(index, null);
+        }
+    }
+}
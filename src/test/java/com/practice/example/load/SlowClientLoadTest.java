@@ -0,0 +1,204 @@
+package com.practice.example.load;
+
+import com.practice.example.model.Review;
+import com.practice.example.service.ReviewService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Быстрые запросы GET /reviews/{id} на фоне медленных клиентов, которые по байту загружают тело
+ * POST /reviews/bulk и все это время держат поток обработки запроса. Печатает пиковое число
+ * одновременно обрабатываемых запросов и перцентили задержки быстрых запросов; режимы сравниваются
+ * наследниками. Запуск: {@code mvn -Pload test}.
+ */
+@Tag("load")
+@EmbeddedKafka(partitions = 1, topics = {"reviews", "reviews.DLT"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.jpa.show-sql=false"
+})
+@Import(SlowClientLoadTest.InFlightConfig.class)
+abstract class SlowClientLoadTest {
+
+    private static final int SLOW_CLIENTS = 400;
+
+    private static final Duration SLOW_CLIENT_DURATION = Duration.ofSeconds(5);
+
+    private static final Duration SLOW_CLIENT_BYTE_INTERVAL = Duration.ofMillis(100);
+
+    private static final int PROBE_CLIENTS = 20;
+
+    private static final int PROBES_PER_CLIENT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private InFlightRequests inFlightRequests;
+
+    abstract String mode();
+
+    @Test
+    void fastRequests_whileSlowClientsHoldRequestThreads() throws Exception {
+        Review review = reviewService.createReview(UUID.randomUUID(), UUID.randomUUID(), "Отзыв", "Текст", null, 5);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/reviews/" + review.getId()))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        // Прогрев пути чтения, чтобы в замер не попали JIT и заполнение кэша
+        for (int i = 0; i < 200; i++) {
+            http.send(probe, HttpResponse.BodyHandlers.discarding());
+        }
+        inFlightRequests.resetPeak();
+
+        ExecutorService slowClients = Executors.newFixedThreadPool(SLOW_CLIENTS);
+        ExecutorService probeClients = Executors.newFixedThreadPool(PROBE_CLIENTS);
+        try {
+            List<Future<Integer>> uploads = new ArrayList<>();
+            for (int i = 0; i < SLOW_CLIENTS; i++) {
+                uploads.add(slowClients.submit(this::slowUpload));
+            }
+            Thread.sleep(SLOW_CLIENT_BYTE_INTERVAL.toMillis() * 5);
+
+            List<Future<long[]>> probes = new ArrayList<>();
+            for (int i = 0; i < PROBE_CLIENTS; i++) {
+                probes.add(probeClients.submit(() -> {
+                    long[] latencies = new long[PROBES_PER_CLIENT];
+                    for (int n = 0; n < PROBES_PER_CLIENT; n++) {
+                        long startedAt = System.nanoTime();
+                        HttpResponse<Void> response = http.send(probe, HttpResponse.BodyHandlers.discarding());
+                        latencies[n] = System.nanoTime() - startedAt;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] latencies = new long[PROBE_CLIENTS * PROBES_PER_CLIENT];
+            for (int i = 0; i < PROBE_CLIENTS; i++) {
+                System.arraycopy(probes.get(i).get(2, TimeUnit.MINUTES), 0, latencies, i * PROBES_PER_CLIENT,
+                        PROBES_PER_CLIENT);
+            }
+            for (Future<Integer> upload : uploads) {
+                assertThat(upload.get(2, TimeUnit.MINUTES)).isEqualTo(200);
+            }
+
+            Arrays.sort(latencies);
+            System.out.printf("[%s] slow clients=%d, peak in-flight requests=%d, probes=%d, "
+                            + "p50=%.1f ms, p99=%.1f ms, max=%.1f ms%n",
+                    mode(), SLOW_CLIENTS, inFlightRequests.peak(), latencies.length,
+                    millis(latencies, 0.50), millis(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        } finally {
+            slowClients.shutdownNow();
+            probeClients.shutdownNow();
+        }
+    }
+
+    // Пустое NDJSON-тело, передаваемое по одному пробелу: запрос занимает обработчик на всю загрузку
+    private int slowUpload() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /reviews/bulk HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Content-Type: application/x-ndjson\r\n"
+                    + "Transfer-Encoding: chunked\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            long deadline = System.nanoTime() + SLOW_CLIENT_DURATION.toNanos();
+            while (System.nanoTime() < deadline) {
+                out.write("1\r\n \r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                Thread.sleep(SLOW_CLIENT_BYTE_INTERVAL.toMillis());
+            }
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String statusLine = in.readLine();
+            return Integer.parseInt(statusLine.split(" ")[1]);
+        }
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+    }
+
+    static class InFlightRequests {
+
+        private final AtomicInteger current = new AtomicInteger();
+
+        private final AtomicInteger peak = new AtomicInteger();
+
+        void enter() {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+        }
+
+        void exit() {
+            current.decrementAndGet();
+        }
+
+        int peak() {
+            return peak.get();
+        }
+
+        void resetPeak() {
+            peak.set(current.get());
+        }
+    }
+
+    @TestConfiguration
+    static class InFlightConfig {
+
+        @Bean
+        InFlightRequests inFlightRequests() {
+            return new InFlightRequests();
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> inFlightFilter(InFlightRequests inFlightRequests) {
+            Filter filter = (request, response, chain) -> {
+                inFlightRequests.enter();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    inFlightRequests.exit();
+                }
+            };
+            return new FilterRegistrationBean<>(filter);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.practice.example.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Профиль virtual-threads: каждый запрос на своем виртуальном потоке.
+ */
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadSlowClientLoadTest extends SlowClientLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
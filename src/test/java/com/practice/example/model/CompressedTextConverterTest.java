@@ -0,0 +1,60 @@
+package com.practice.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void shortText_isStoredPlain() {
+        byte[] stored = converter.convertToDatabaseColumn("Хорошее место 👍");
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo("Хорошее место 👍");
+    }
+
+    @Test
+    void longRepetitiveText_isCompressed() {
+        String text = "Вкусный кофе, вежливый персонал. ".repeat(200);
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.DEFLATE);
+        assertThat(stored.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void textAtThreshold_isStoredPlain() {
+        String text = "a".repeat(CompressedTextConverter.COMPRESSION_THRESHOLD);
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(stored).hasSize(text.length() + 1);
+        assertThat(converter.convertToDatabaseColumn(text + "a")[0]).isEqualTo(CompressedTextConverter.DEFLATE);
+    }
+
+    @Test
+    void null_staysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void corruptedValue_isRejected() {
+        byte[] stored = converter.convertToDatabaseColumn("abc ".repeat(500));
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[]{7, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
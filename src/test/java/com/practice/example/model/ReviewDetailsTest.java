@@ -0,0 +1,85 @@
+package com.practice.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReviewDetailsTest {
+
+    @Test
+    void getReactions_returnsImmutableSnapshotDetachedFromCounters() {
+        ReviewDetails details = details(EmojiReactionCounts.of(new int[]{0x1F44D}, new int[]{4}));
+        details.addReaction(ReviewReactions.Type.LIKE, 2);
+
+        Map<ReviewReactions.Type, Integer> snapshot = details.getReactions();
+        details.addReaction(ReviewReactions.Type.LIKE);
+
+        assertThat(snapshot).containsEntry(ReviewReactions.Type.LIKE, 2)
+                .containsEntry(ReviewReactions.Type.DISLIKE, 0)
+                .containsEntry(ReviewReactions.Type.EMOJI, 4);
+        assertThat(details.getReactionCount(ReviewReactions.Type.LIKE)).isEqualTo(3);
+        assertThatThrownBy(() -> snapshot.put(ReviewReactions.Type.LIKE, 10))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void addReaction_concurrentIncrementsAreNotLost() throws Exception {
+        ReviewDetails details = details(EmojiReactionCounts.empty());
+        int threads = 4;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                ReviewReactions.Type type = t % 2 == 0 ? ReviewReactions.Type.LIKE : ReviewReactions.Type.DISLIKE;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        details.addReaction(type);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(details.getReactionCount(ReviewReactions.Type.LIKE)).isEqualTo(threads / 2 * perThread);
+        assertThat(details.getReactionCount(ReviewReactions.Type.DISLIKE)).isEqualTo(threads / 2 * perThread);
+    }
+
+    @Test
+    void getReactionCount_saturatesInsteadOfOverflowing() {
+        ReviewDetails details = details(EmojiReactionCounts.empty());
+        details.addReaction(ReviewReactions.Type.LIKE, Integer.MAX_VALUE);
+        details.addReaction(ReviewReactions.Type.LIKE, 10);
+
+        assertThat(details.getReactionCount(ReviewReactions.Type.LIKE)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(details.getReactions().get(ReviewReactions.Type.LIKE)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private static ReviewDetails details(EmojiReactionCounts emoji) {
+        return ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("T")
+                .content("C")
+                .parentReviewId(Optional.empty())
+                .publishedAt(Instant.now())
+                .rating(new ReviewRating(5))
+                .emojiReactions(emoji)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.practice.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReviewReactionsTest {
+
+    @Test
+    void fromString_likeAndDislike_caseInsensitive() {
+        assertThat(ReviewReactions.fromString("like")).isSameAs(ReviewReactions.like());
+        assertThat(ReviewReactions.fromString("DISLIKE")).isSameAs(ReviewReactions.dislike());
+    }
+
+    @Test
+    void fromString_supplementaryEmoji_keepsFullCodePoint() {
+        ReviewReactions reaction = ReviewReactions.fromString("👍");
+
+        assertThat(reaction.getType()).isEqualTo(ReviewReactions.Type.EMOJI);
+        assertThat(reaction.getValue()).isEqualTo(0x1F44D);
+        assertThat(reaction.asString()).isEqualTo("👍");
+    }
+
+    @Test
+    void fromString_emojiWithVariationSelector_isNormalized() {
+        assertThat(ReviewReactions.fromString("❤️").getValue()).isEqualTo(0x2764);
+    }
+
+    @Test
+    void fromString_textOrSeveralSymbols_rejected() {
+        assertThatThrownBy(() -> ReviewReactions.fromString("UNKNOWN"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown reaction");
+        assertThatThrownBy(() -> ReviewReactions.fromString("a"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReviewReactions.fromString("👍👍"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emojiCounts_lookupAndTotal() {
+        EmojiReactionCounts counts = EmojiReactionCounts.of(new int[]{0x2764, 0x1F44D}, new int[]{2, 5});
+
+        assertThat(counts.get(0x1F44D)).isEqualTo(5);
+        assertThat(counts.get(0x1F525)).isZero();
+        assertThat(counts.total()).isEqualTo(7);
+        assertThat(counts.asMap()).containsEntry("👍", 5).containsEntry("❤", 2);
+        assertThatThrownBy(() -> EmojiReactionCounts.of(new int[]{2, 1}, new int[]{1, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.practice.example.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.practice.example.dto.AddReactionRequest;
+import com.practice.example.dto.CreateReviewRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Реактивный режим целиком: запись через JPA-сервисы, чтение тех же строк через R2DBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "review.outbox.relay.enabled=false")
+@ActiveProfiles("reactive")
+class ReactiveReviewApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void writesThroughJpa_readsThroughR2dbc() {
+        UUID orgId = UUID.randomUUID();
+        String first = create(orgId, "Первый");
+        String second = create(orgId, "Второй");
+        String third = create(orgId, "Третий");
+        webTestClient.post().uri("/reviews/{id}/reactions", second)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(reaction("LIKE"))
+                .exchange()
+                .expectStatus().isOk();
+
+        JsonNode page = webTestClient.get().uri("/reviews?organizationId={org}&limit=2", orgId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(page.get("items")).extracting(node -> node.get("id").asText()).containsExactly(third, second);
+        assertThat(page.get("items").get(1).get("likeCount").asInt()).isEqualTo(1);
+        // Элемент страницы тот же ReviewView, что отдает MVC-вариант
+        assertThat(page.get("items").get(1).fieldNames()).toIterable().containsExactlyInAnyOrder(
+                "id", "authorId", "organizationId", "title", "content", "contentTruncated",
+                "parentReviewId", "publishedAt", "ratingValue", "likeCount", "dislikeCount");
+
+        JsonNode next = webTestClient.get()
+                .uri("/reviews?organizationId={org}&limit=2&cursor={cursor}", orgId, page.get("nextCursor").asText())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(next.get("items")).extracting(node -> node.get("id").asText()).containsExactly(first);
+        assertThat(next.get("nextCursor").isNull()).isTrue();
+
+        List<JsonNode> streamed = webTestClient.get().uri("/reviews?organizationId={org}", orgId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(JsonNode.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(streamed).extracting(node -> node.get("id").asText()).containsExactly(third, second, first);
+
+        webTestClient.get().uri("/reviews/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains(first, second, third));
+    }
+
+    @Test
+    void search_isNotRoutedToReviewById() {
+        webTestClient.get().uri("/reviews/search?q={q}", "Текст")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").isArray();
+    }
+
+    @Test
+    void deleteReview_thenGet_returnsNotFound() {
+        String id = create(UUID.randomUUID(), "Удаляемый");
+
+        webTestClient.delete().uri("/reviews/{id}", id).exchange().expectStatus().isNoContent();
+
+        webTestClient.get().uri("/reviews/{id}", id).exchange().expectStatus().isNotFound();
+    }
+
+    private String create(UUID orgId, String title) {
+        CreateReviewRequest request = new CreateReviewRequest();
+        request.setAuthorId(UUID.randomUUID());
+        request.setOrganizationId(orgId);
+        request.setTitle(title);
+        request.setContent("Текст");
+        request.setRatingValue(4);
+        return webTestClient.post().uri("/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody()
+                .get("id").asText();
+    }
+
+    private static AddReactionRequest reaction(String type) {
+        AddReactionRequest request = new AddReactionRequest();
+        request.setReactionType(type);
+        return request;
+    }
+}
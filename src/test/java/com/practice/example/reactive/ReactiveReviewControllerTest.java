@@ -0,0 +1,247 @@
+package com.practice.example.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.practice.example.dto.AddReactionRequest;
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.dto.CreateReviewRequest;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.EmojiReactionCounts;
+import com.practice.example.model.Review;
+import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewRating;
+import com.practice.example.repository.ReviewFilter;
+import com.practice.example.service.ReviewIngestService;
+import com.practice.example.service.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveReviewControllerTest {
+
+    private ReviewService reviewService;
+    private ReviewIngestService reviewIngestService;
+    private ReactiveReviewReader reactiveReviewReader;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        reviewService = Mockito.mock(ReviewService.class);
+        reviewIngestService = Mockito.mock(ReviewIngestService.class);
+        reactiveReviewReader = Mockito.mock(ReactiveReviewReader.class);
+        webTestClient = WebTestClient.bindToController(
+                new ReactiveReviewController(reviewService, reviewIngestService, reactiveReviewReader)).build();
+    }
+
+    @Test
+    void createReview_returnsOkAndBody() {
+        UUID authorId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        CreateReviewRequest req = new CreateReviewRequest();
+        req.setAuthorId(authorId);
+        req.setOrganizationId(orgId);
+        req.setTitle("T");
+        req.setContent("C");
+        req.setRatingValue(5);
+        Review created = Review.builder().id(UUID.randomUUID()).authorId(authorId).organizationId(orgId)
+                .title("T").content("C").publishedAt(Instant.now()).ratingValue(5).build();
+        when(reviewService.createReview(eq(authorId), eq(orgId), eq("T"), eq("C"), isNull(), eq(5)))
+                .thenReturn(created);
+
+        webTestClient.post().uri("/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.getId().toString())
+                .jsonPath("$.ratingValue").isEqualTo(5);
+    }
+
+    @Test
+    void addReaction_whenUnknownType_returnsBadRequest() {
+        UUID id = UUID.randomUUID();
+        AddReactionRequest req = new AddReactionRequest();
+        req.setReactionType("WOW");
+        when(reviewService.addReaction(id, "WOW")).thenThrow(new IllegalArgumentException("Unknown reaction"));
+
+        webTestClient.post().uri("/reviews/{id}/reactions", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getReview_whenMissing_returnsNotFound() {
+        UUID id = UUID.randomUUID();
+        when(reviewService.getReview(id)).thenThrow(new NoSuchElementException());
+
+        webTestClient.get().uri("/reviews/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getReviews_json_returnsPage() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView view = view(orgId);
+        when(reactiveReviewReader.getPage(any(ReviewFilter.class), isNull(), eq(1), eq(false)))
+                .thenReturn(Mono.just(new ReviewPage<>(List.of(view), "next")));
+
+        webTestClient.get().uri("/reviews?organizationId={org}&limit=1", orgId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo(view.getId().toString())
+                .jsonPath("$.items[0].likeCount").isEqualTo(3)
+                .jsonPath("$.items[0].contentTruncated").isEqualTo(false)
+                .jsonPath("$.nextCursor").isEqualTo("next");
+        verify(reactiveReviewReader).getPage(argThat(f -> orgId.equals(f.getOrganizationId())), isNull(), eq(1), eq(false));
+    }
+
+    @Test
+    void getReviews_preview_passesFlagToReader() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView preview = new ReviewView(UUID.randomUUID(), UUID.randomUUID(), orgId, "T", "Начало", true,
+                null, Instant.parse("2024-05-01T12:00:00Z"), 4, 0, 0);
+        when(reactiveReviewReader.getPage(any(ReviewFilter.class), isNull(), eq(2), eq(true)))
+                .thenReturn(Mono.just(new ReviewPage<>(List.of(preview), null)));
+
+        webTestClient.get().uri("/reviews?organizationId={org}&limit=2&preview=true", orgId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].content").isEqualTo("Начало")
+                .jsonPath("$.items[0].contentTruncated").isEqualTo(true);
+    }
+
+    @Test
+    void search_returnsPageFromService() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView hit = view(orgId);
+        when(reviewService.search("coffee", orgId, null, 10)).thenReturn(new ReviewPage<>(List.of(hit), "next"));
+
+        // /search не должен уходить в /{id} и падать на разборе UUID
+        webTestClient.get().uri("/reviews/search?q=coffee&organizationId={org}&limit=10", orgId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo(hit.getId().toString())
+                .jsonPath("$.nextCursor").isEqualTo("next");
+        verify(reviewService, never()).getReview(any());
+    }
+
+    @Test
+    void search_blankQuery_returnsBadRequest() {
+        when(reviewService.search(eq(" "), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Search query must not be blank"));
+
+        webTestClient.get().uri("/reviews/search?q= ")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/reviews/search")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getReviews_withMalformedCursor_returnsBadRequest() {
+        webTestClient.get().uri("/reviews?cursor=bm90LWEtY3Vyc29y")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/reviews?cursor=bm90LWEtY3Vyc29y")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(reactiveReviewReader);
+    }
+
+    @Test
+    void streamReviews_ndjson_writesOneLinePerReview() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView first = view(orgId);
+        ReviewView second = view(orgId);
+        when(reactiveReviewReader.stream(any(ReviewFilter.class), isNull(), eq(false))).thenReturn(Flux.just(first, second));
+
+        List<JsonNode> body = webTestClient.get().uri("/reviews?organizationId={org}", orgId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(body).extracting(node -> node.get("id").asText())
+                .containsExactly(first.getId().toString(), second.getId().toString());
+    }
+
+    @Test
+    void exportReviews_streamsNdjson() {
+        ReviewDetails details = details(UUID.randomUUID());
+        when(reactiveReviewReader.exportAll()).thenReturn(Flux.just(details));
+
+        webTestClient.get().uri("/reviews/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains(details.getId().toString()).endsWith("\n"));
+    }
+
+    @Test
+    void ingest_passesBodyAsStream() throws Exception {
+        when(reviewIngestService.ingest(any(InputStream.class))).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(0).readAllBytes());
+            assertThat(body).isEqualTo("{\"title\":\"a\"}\n{\"title\":\"b\"}\n");
+            return new BulkIngestResult(2, 2, 0, List.of(), true);
+        });
+
+        webTestClient.post().uri("/reviews/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"title\":\"a\"}\n{\"title\":\"b\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(2);
+    }
+
+    private static ReviewView view(UUID orgId) {
+        return new ReviewView(UUID.randomUUID(), UUID.randomUUID(), orgId, "T", "C", null,
+                Instant.parse("2024-05-01T12:00:00Z"), 4, 3, 0);
+    }
+
+    private static ReviewDetails details(UUID orgId) {
+        return ReviewDetails.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(orgId)
+                .title("T")
+                .content("C")
+                .parentReviewId(Optional.empty())
+                .publishedAt(Instant.parse("2024-05-01T12:00:00Z"))
+                .rating(new ReviewRating(4))
+                .emojiReactions(EmojiReactionCounts.empty())
+                .build();
+    }
+}
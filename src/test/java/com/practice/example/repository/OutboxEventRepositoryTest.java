@@ -0,0 +1,91 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void lockNextBatch_takesDueEventsByNextAttemptSkippingDeferredAndParked() {
+        // Arrange
+        OutboxEvent retried = save(NOW.minusSeconds(1), null);
+        OutboxEvent fresh = save(NOW.minusSeconds(5), null);
+        save(NOW.plusSeconds(60), null);
+        save(NOW.minusSeconds(10), NOW.minusSeconds(10));
+
+        // Act
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(NOW, 10);
+
+        // Assert
+        assertThat(batch).extracting(OutboxEvent::getId).containsExactly(fresh.getId(), retried.getId());
+    }
+
+    @Test
+    void scheduleRetryAndPark_countAttempts() {
+        // Arrange
+        OutboxEvent retried = save(NOW, null);
+        OutboxEvent parked = save(NOW, null);
+
+        // Act
+        outboxEventRepository.scheduleRetry(List.of(retried.getId()), NOW, NOW.plusSeconds(30));
+        outboxEventRepository.park(List.of(parked.getId()), NOW, NOW);
+        entityManager.clear();
+
+        // Assert
+        assertThat(outboxEventRepository.lockNextBatch(NOW, 10)).isEmpty();
+        assertThat(outboxEventRepository.lockNextBatch(NOW.plusSeconds(30), 10))
+                .extracting(OutboxEvent::getId, OutboxEvent::getAttempts)
+                .containsExactly(tuple(retried.getId(), 1));
+    }
+
+    @Test
+    void lease_hidesEventsUntilExpiryAndOnlyOwnerReschedules() {
+        // Arrange
+        OutboxEvent event = save(NOW, null);
+        Instant leasedUntil = NOW.plusSeconds(30);
+        outboxEventRepository.lease(List.of(event.getId()), leasedUntil);
+        entityManager.clear();
+
+        // Act
+        int staleOwner = outboxEventRepository.scheduleRetry(List.of(event.getId()), NOW, NOW.plusSeconds(60));
+        int owner = outboxEventRepository.release(List.of(event.getId()), leasedUntil, NOW);
+        entityManager.clear();
+
+        // Assert
+        assertThat(staleOwner).isZero();
+        assertThat(owner).isEqualTo(1);
+        assertThat(outboxEventRepository.lockNextBatch(NOW, 10))
+                .extracting(OutboxEvent::getId, OutboxEvent::getAttempts)
+                .containsExactly(tuple(event.getId(), 0));
+    }
+
+    private OutboxEvent save(Instant nextAttemptAt, Instant parkedAt) {
+        return outboxEventRepository.saveAndFlush(OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(UUID.randomUUID())
+                .messageKey("k")
+                .payload(new byte[]{1})
+                .createdAt(NOW.minusSeconds(3600))
+                .nextAttemptAt(nextAttemptAt)
+                .parkedAt(parkedAt)
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.Review;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class ReviewEmojiReactionRepositoryTest {
+
+    @Autowired
+    private ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void increment_createsRowThenAddsToIt() {
+        Review review = new Review(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "T", "C",
+                Instant.parse("2024-01-01T00:00:00Z"), 5);
+        entityManager.persist(review);
+        entityManager.flush();
+
+        reviewEmojiReactionRepository.increment(review.getId(), 0x1F600, 1);
+        reviewEmojiReactionRepository.increment(review.getId(), 0x1F600, 2);
+
+        assertThat(reviewEmojiReactionRepository.findRowsByReviewId(review.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getCount()).isEqualTo(3));
+    }
+
+    @Test
+    void upsertSql_postgresUsesOnConflict() {
+        assertThat(ReviewEmojiReactionRepositoryCustomImpl.upsertSql(new PostgreSQLDialect()))
+                .contains("ON CONFLICT (review_id, code_point)");
+        assertThat(ReviewEmojiReactionRepositoryCustomImpl.upsertSql(new H2Dialect())).startsWith("MERGE");
+    }
+}
@@ -0,0 +1,161 @@
+package com.practice.example.repository;
+
+import com.practice.example.dto.ReviewView;
+import com.practice.example.model.Review;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class ReviewRepositoryTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findPage_projectsColumnsWithoutManagedEntities() {
+        UUID orgId = UUID.randomUUID();
+        Review root = save(orgId, null, "2024-01-01T00:00:00Z");
+        Review reply = save(orgId, root, "2024-01-02T00:00:00Z");
+        entityManager.clear();
+
+        List<ReviewView> page = reviewRepository.findPage(new ReviewFilter(orgId, null, null), null, 10, false);
+
+        assertThat(page).extracting(ReviewView::getId).containsExactly(reply.getId(), root.getId());
+        assertThat(page.get(0).getParentReviewId()).isEqualTo(root.getId());
+        assertThat(page.get(0).getLikeCount()).isEqualTo(2);
+        assertThat(page.get(1).getParentReviewId()).isNull();
+        assertThat(entityManager.contains(entityManager.getReference(Review.class, root.getId()))).isTrue();
+        assertThat(entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(entityManager.getReference(Review.class, root.getId()))).isFalse();
+    }
+
+    @Test
+    void findById_leavesContentUnloaded() {
+        Review review = save(UUID.randomUUID(), null, "2024-01-01T00:00:00Z");
+        entityManager.clear();
+
+        Review loaded = reviewRepository.findById(review.getId()).orElseThrow();
+
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(util.isLoaded(loaded, "content")).isFalse();
+        assertThat(loaded.getContent()).isEqualTo("C");
+    }
+
+    @Test
+    void longContent_isStoredCompressedAndPreviewedInPages() {
+        String content = "Очень подробный отзыв о сервисе. ".repeat(100);
+        Review review = saveWithContent(UUID.randomUUID(), content);
+        entityManager.clear();
+
+        byte[] stored = (byte[]) entityManager.createNativeQuery("select content from reviews where id = :id")
+                .setParameter("id", review.getId())
+                .getSingleResult();
+        assertThat(stored.length).isLessThan(content.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(reviewRepository.findViewById(review.getId()).orElseThrow().getContent()).isEqualTo(content);
+        assertThat(reviewRepository.findThread(review.getId(), 1, 1).get(0).getContent()).isEqualTo(content);
+
+        ReviewFilter filter = new ReviewFilter(review.getOrganizationId(), null, null);
+        ReviewView preview = reviewRepository.findPage(filter, null, 10, true).get(0);
+        assertThat(preview.isContentTruncated()).isTrue();
+        assertThat(preview.getContent()).hasSize(Review.PREVIEW_LENGTH).isEqualTo(content.substring(0, Review.PREVIEW_LENGTH));
+        ReviewView full = reviewRepository.findPage(filter, null, 10, false).get(0);
+        assertThat(full.isContentTruncated()).isFalse();
+        assertThat(full.getContent()).isEqualTo(content);
+    }
+
+    @Test
+    void shortContent_previewIsWholeText() {
+        Review review = saveWithContent(UUID.randomUUID(), "Коротко");
+        entityManager.clear();
+
+        ReviewView preview = reviewRepository.findPage(new ReviewFilter(review.getOrganizationId(), null, null),
+                null, 10, true).get(0);
+
+        assertThat(preview.isContentTruncated()).isFalse();
+        assertThat(preview.getContent()).isEqualTo("Коротко");
+    }
+
+    @Test
+    void findViewById_returnsRawParentId() {
+        Review root = save(UUID.randomUUID(), null, "2024-01-01T00:00:00Z");
+        Review reply = save(root.getOrganizationId(), root, "2024-01-02T00:00:00Z");
+        entityManager.clear();
+
+        ReviewView view = reviewRepository.findViewById(reply.getId()).orElseThrow();
+
+        assertThat(view.getParentReviewId()).isEqualTo(root.getId());
+        assertThat(view.getPublishedAt()).isEqualTo(reply.getPublishedAt());
+        assertThat(view.getRatingValue()).isEqualTo(4);
+        assertThat(reviewRepository.findViewById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void findThread_mapsNativeRowsToViewsInTreeOrder() {
+        UUID orgId = UUID.randomUUID();
+        Review root = save(orgId, null, "2024-01-01T00:00:00Z");
+        Review first = save(orgId, root, "2024-01-02T00:00:00Z");
+        Review nested = save(orgId, first, "2024-01-03T00:00:00Z");
+        entityManager.clear();
+
+        List<ReviewView> thread = reviewRepository.findThread(root.getId(), 10, 10);
+
+        assertThat(thread).extracting(ReviewView::getId).containsExactly(root.getId(), first.getId(), nested.getId());
+        assertThat(thread).extracting(ReviewView::getParentReviewId).containsExactly(null, root.getId(), first.getId());
+        assertThat(thread.get(2).getPublishedAt()).isEqualTo(nested.getPublishedAt());
+        assertThat(thread.get(2).getTitle()).isEqualTo("T");
+    }
+
+    @Test
+    void streamAll_returnsViewsInPublicationOrder() {
+        Review older = save(UUID.randomUUID(), null, "2024-01-01T00:00:00Z");
+        Review newer = save(UUID.randomUUID(), older, "2024-01-02T00:00:00Z");
+        entityManager.clear();
+
+        try (Stream<ReviewView> stream = reviewRepository.streamAll()) {
+            assertThat(stream.toList()).extracting(ReviewView::getId).containsExactly(older.getId(), newer.getId());
+        }
+    }
+
+    private Review saveWithContent(UUID orgId, String content) {
+        Review review = Review.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(orgId)
+                .title("T")
+                .content(content)
+                .publishedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .ratingValue(5)
+                .build();
+        return reviewRepository.saveAndFlush(review);
+    }
+
+    private Review save(UUID orgId, Review parent, String publishedAt) {
+        Review review = Review.builder()
+                .id(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .organizationId(orgId)
+                .title("T")
+                .content("C")
+                .parentReview(parent)
+                .publishedAt(Instant.parse(publishedAt))
+                .ratingValue(4)
+                .likeCount(2)
+                .dislikeCount(1)
+                .build();
+        return reviewRepository.saveAndFlush(review);
+    }
+}
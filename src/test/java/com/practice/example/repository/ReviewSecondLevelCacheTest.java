@@ -0,0 +1,105 @@
+package com.practice.example.repository;
+
+import com.practice.example.model.Review;
+import com.practice.example.service.ReviewEntityCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Кэш второго уровня из профиля prod; записи в него попадают при коммите, поэтому без транзакции теста
+@DataJpaTest
+@ActiveProfiles("prod")
+@Import(ReviewEntityCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewSecondLevelCacheTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private OrganizationRatingStatsRepository organizationRatingStatsRepository;
+
+    @Autowired
+    private ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+
+    @Autowired
+    private ReviewEntityCache reviewEntityCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findById_afterInsert_isServedWithoutStatementsAndWithoutContent() {
+        // Arrange
+        Review review = insert();
+        statistics.clear();
+
+        // Act
+        Review loaded = transaction.execute(status -> reviewRepository.findById(review.getId()).orElseThrow());
+
+        // Assert
+        assertThat(loaded.getTitle()).isEqualTo("T");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Review.CACHE_REGION).getHitCount()).isEqualTo(1);
+        String content = transaction.execute(status -> reviewRepository.findById(review.getId()).orElseThrow().getContent());
+        assertThat(content).isEqualTo("C");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reactionIncrement_evictsOnlyTheChangedReview() {
+        // Arrange
+        Review changed = insert();
+        Review other = insert();
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            organizationRatingStatsRepository.insertEmpty(changed.getOrganizationId());
+            reviewRepository.incrementReactions(changed.getId(), 1, 0);
+            organizationRatingStatsRepository.incrementReactions(changed.getId(), 1, 0);
+            reviewEmojiReactionRepository.increment(changed.getId(), 0x1F600, 1);
+            reviewEntityCache.evictAroundCommit(changed.getId());
+        });
+
+        // Assert
+        assertThat(entityManagerFactory.getCache().contains(Review.class, other.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Review.class, changed.getId())).isFalse();
+        Integer likeCount = transaction.execute(status -> reviewRepository.findById(changed.getId()).orElseThrow().getLikeCount());
+        assertThat(likeCount).isEqualTo(1);
+    }
+
+    private Review insert() {
+        Review review = new Review(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "T", "C",
+                Instant.parse("2024-01-01T00:00:00Z"), 5);
+        transaction.executeWithoutResult(status -> reviewRepository.save(review));
+        return review;
+    }
+}
@@ -0,0 +1,175 @@
+package com.practice.example.service;
+
+import com.practice.example.dto.HelpfulReview;
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HelpfulReviewRankingTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    private final UUID orgId = UUID.randomUUID();
+
+    private ReviewRepository reviewRepository;
+    private HelpfulReviewRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = Mockito.mock(ReviewRepository.class);
+        // Хранит 4 отзыва на организацию, отдает до 2
+        ranking = new HelpfulReviewRanking(reviewRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), 4, 30, false);
+    }
+
+    @Test
+    void wilsonScore_prefersConfidentMajorityOverFewVotes() {
+        assertThat(HelpfulReviewRanking.wilsonScore(0, 0)).isZero();
+        assertThat(HelpfulReviewRanking.wilsonScore(0, 5)).isZero();
+        assertThat(HelpfulReviewRanking.wilsonScore(1, 0)).isLessThan(HelpfulReviewRanking.wilsonScore(90, 10));
+        assertThat(HelpfulReviewRanking.wilsonScore(90, 10)).isBetween(0.82, 0.85);
+    }
+
+    @Test
+    void getMostHelpful_ranksByWilsonScoreDecayedByAge() {
+        ReviewHelpfulness confident = review(Duration.ZERO, 90, 10);
+        ReviewHelpfulness sameButOld = review(Duration.ofDays(60), 90, 10);
+        ReviewHelpfulness fewVotes = review(Duration.ZERO, 2, 0);
+        ReviewHelpfulness noLikes = review(Duration.ZERO, 0, 3);
+        Stream.of(fewVotes, sameButOld, noLikes, confident).forEach(ranking::updateAfterCommit);
+
+        // Два периода полураспада: 0.84 * 0.25 уступает свежим 2 из 2 (0.34)
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(confident.getReviewId(), fewVotes.getReviewId());
+        ranking.removeAfterCommit(orgId, fewVotes.getReviewId());
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(confident.getReviewId(), sameButOld.getReviewId());
+        assertThat(ranking.getMostHelpful(UUID.randomUUID(), 10)).isEmpty();
+    }
+
+    @Test
+    void update_promotesReviewAndIgnoresStaleCounts() {
+        ReviewHelpfulness leader = review(Duration.ZERO, 50, 0);
+        ReviewHelpfulness climber = review(Duration.ZERO, 1, 0);
+        ranking.updateAfterCommit(leader);
+        ranking.updateAfterCommit(climber);
+
+        ranking.updateAfterCommit(climber.withPending(200, 0));
+        // Опоздавшее обновление с меньшим числом голосов
+        ranking.updateAfterCommit(climber.withPending(1, 0));
+
+        List<HelpfulReview> top = ranking.getMostHelpful(orgId, 2);
+        assertThat(top).extracting(HelpfulReview::getReviewId).containsExactly(climber.getReviewId(), leader.getReviewId());
+        assertThat(top.get(0).getLikeCount()).isEqualTo(201);
+    }
+
+    @Test
+    void boundedBoard_keepsBestAndReloadsAfterDemotions() {
+        List<ReviewHelpfulness> reviews = Stream.of(100, 90, 80, 70, 60, 50)
+                .map(likes -> review(Duration.ZERO, likes, 0)).toList();
+        reviews.forEach(ranking::updateAfterCommit);
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(reviews.get(0).getReviewId(), reviews.get(1).getReviewId());
+
+        // Три лучших отзыва опускаются ниже хранимых: на доске остается один, нужна перечитка
+        ReviewHelpfulness first = reviews.get(0).withPending(0, 1000);
+        ReviewHelpfulness second = reviews.get(1).withPending(0, 1000);
+        ReviewHelpfulness third = reviews.get(2).withPending(0, 1000);
+        Stream.of(first, second, third).forEach(ranking::updateAfterCommit);
+        when(reviewRepository.streamHelpfulnessCandidatesOf(orgId)).thenReturn(Stream.of(
+                first, second, third, reviews.get(3), reviews.get(4), reviews.get(5)));
+
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(reviews.get(3).getReviewId(), reviews.get(4).getReviewId());
+        verify(reviewRepository, times(1)).streamHelpfulnessCandidatesOf(orgId);
+    }
+
+    @Test
+    void reload_readsWithoutBoardLockAndKeepsConcurrentUpdates() {
+        List<ReviewHelpfulness> reviews = Stream.of(100, 90, 80, 70, 60)
+                .map(likes -> review(Duration.ZERO, likes, 0)).toList();
+        reviews.forEach(ranking::updateAfterCommit);
+        List<ReviewHelpfulness> demoted = reviews.subList(0, 3).stream().map(r -> r.withPending(0, 1000)).toList();
+        demoted.forEach(ranking::updateAfterCommit);
+        ReviewHelpfulness climber = reviews.get(4).withPending(500, 0);
+        when(reviewRepository.streamHelpfulnessCandidatesOf(orgId)).thenAnswer(invocation -> {
+            // Обновление из другого потока во время чтения из БД: блокировка доски свободна
+            Thread writer = new Thread(() -> ranking.updateAfterCommit(climber));
+            writer.start();
+            writer.join(5_000);
+            assertThat(writer.isAlive()).isFalse();
+            return Stream.concat(demoted.stream(), Stream.of(reviews.get(3), reviews.get(4)));
+        });
+
+        // Снимок из БД старее обновления, но climber с 560 лайками все равно первый
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(climber.getReviewId(), reviews.get(3).getReviewId());
+    }
+
+    @Test
+    void remove_dropsReviewFromBoard() {
+        ReviewHelpfulness removed = review(Duration.ZERO, 10, 0);
+        ReviewHelpfulness kept = review(Duration.ZERO, 5, 0);
+        ranking.updateAfterCommit(removed);
+        ranking.updateAfterCommit(kept);
+
+        ranking.removeAfterCommit(orgId, removed.getReviewId());
+
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(kept.getReviewId());
+    }
+
+    @Test
+    void remove_winsOverLaterStaleUpdate() {
+        ReviewHelpfulness removed = review(Duration.ZERO, 10, 0);
+        ranking.updateAfterCommit(removed);
+
+        ranking.removeAfterCommit(orgId, removed.getReviewId());
+        // Реакция закоммичена до удаления, но ее afterCommit выполнился позже
+        ranking.updateAfterCommit(removed.withPending(1, 0));
+
+        assertThat(ranking.getMostHelpful(orgId, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_skipsReviewRemovedBeforeItsRowArrived() {
+        ReviewHelpfulness removed = review(Duration.ZERO, 10, 0);
+        ReviewHelpfulness kept = review(Duration.ZERO, 5, 0);
+        // Удаление пришло раньше, чем перестройка дошла до организации
+        ranking.removeAfterCommit(orgId, removed.getReviewId());
+        when(reviewRepository.streamHelpfulnessCandidates()).thenReturn(Stream.of(removed, kept));
+
+        ranking.rebuild();
+
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(kept.getReviewId());
+    }
+
+    @Test
+    void rebuild_fillsBoardsFromStoredCounts() {
+        ReviewHelpfulness stored = review(Duration.ofDays(1), 7, 1);
+        when(reviewRepository.streamHelpfulnessCandidates()).thenReturn(Stream.of(stored));
+
+        assertThat(ranking.rebuild()).isEqualTo(1);
+
+        assertThat(ranking.getMostHelpful(orgId, 10)).extracting(HelpfulReview::getReviewId)
+                .containsExactly(stored.getReviewId());
+    }
+
+    private ReviewHelpfulness review(Duration age, int likes, int dislikes) {
+        return new ReviewHelpfulness(UUID.randomUUID(), orgId, NOW.minus(age), likes, dislikes);
+    }
+}
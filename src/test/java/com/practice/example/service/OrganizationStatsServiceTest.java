@@ -0,0 +1,73 @@
+package com.practice.example.service;
+
+import com.practice.example.model.Review;
+import com.practice.example.repository.OrganizationRatingStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class OrganizationStatsServiceTest {
+
+    private OrganizationRatingStatsRepository organizationRatingStatsRepository;
+    private OrganizationStatsService organizationStatsService;
+
+    @BeforeEach
+    void setUp() {
+        organizationRatingStatsRepository = Mockito.mock(OrganizationRatingStatsRepository.class);
+        organizationStatsService = new OrganizationStatsService(organizationRatingStatsRepository,
+                Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void reviewCreated_existingRow_isIncrementedInPlace() {
+        UUID orgId = UUID.randomUUID();
+        when(organizationRatingStatsRepository.applyReview(orgId, 1, 4, 0, 0)).thenReturn(1);
+
+        organizationStatsService.reviewCreated(orgId, 4);
+
+        verify(organizationRatingStatsRepository, never()).insertEmpty(any());
+        verify(organizationRatingStatsRepository, times(1)).applyReview(orgId, 1, 4, 0, 0);
+    }
+
+    @Test
+    void reviewCreated_firstReview_createsRowThenIncrements() {
+        UUID orgId = UUID.randomUUID();
+        when(organizationRatingStatsRepository.applyReview(orgId, 1, 5, 0, 0)).thenReturn(0, 1);
+
+        organizationStatsService.reviewCreated(orgId, 5);
+
+        verify(organizationRatingStatsRepository).insertEmpty(orgId);
+        verify(organizationRatingStatsRepository, times(2)).applyReview(orgId, 1, 5, 0, 0);
+    }
+
+    @Test
+    void reviewCreated_rowCreatedConcurrently_stillIncrements() {
+        UUID orgId = UUID.randomUUID();
+        when(organizationRatingStatsRepository.applyReview(orgId, 1, 3, 0, 0)).thenReturn(0, 1);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(organizationRatingStatsRepository).insertEmpty(orgId);
+
+        organizationStatsService.reviewCreated(orgId, 3);
+
+        verify(organizationRatingStatsRepository, times(2)).applyReview(orgId, 1, 3, 0, 0);
+    }
+
+    @Test
+    void reviewDeleted_subtractsReviewAndItsReactions() {
+        Review review = new Review(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "T", "C", Instant.now(), 2);
+        review.setLikeCount(7);
+        review.setDislikeCount(3);
+        when(organizationRatingStatsRepository.applyReview(review.getOrganizationId(), -1, 2, -7, -3)).thenReturn(1);
+
+        organizationStatsService.reviewDeleted(review);
+
+        verify(organizationRatingStatsRepository).applyReview(review.getOrganizationId(), -1, 2, -7, -3);
+    }
+}
@@ -0,0 +1,176 @@
+package com.practice.example.service;
+
+import com.practice.example.model.ReviewReactions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactionAggregatorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private ReviewDetailsCache reviewDetailsCache;
+    private ReviewEntityCache reviewEntityCache;
+    private final List<Object[]> flushed = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        reviewDetailsCache = Mockito.mock(ReviewDetailsCache.class);
+        reviewEntityCache = Mockito.mock(ReviewEntityCache.class);
+        when(jdbcTemplate.batchUpdate(eq(ReactionAggregator.FLUSH_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            flushed.addAll(rows);
+            return new int[rows.size()];
+        });
+    }
+
+    @Test
+    void flush_writesAccumulatedDeltasPerReview() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 100, 500);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        aggregator.record(first, ReviewReactions.Type.LIKE);
+        aggregator.record(first, ReviewReactions.Type.LIKE);
+        aggregator.record(first, ReviewReactions.Type.DISLIKE);
+        aggregator.record(second, ReviewReactions.Type.DISLIKE);
+
+        assertThat(aggregator.pendingCount(first, ReviewReactions.Type.LIKE)).isEqualTo(2);
+        aggregator.flush();
+
+        assertThat(flushed).hasSize(2);
+        assertThat(flushed).anySatisfy(row -> assertThat(row).containsExactly(2L, 1L, first));
+        assertThat(flushed).anySatisfy(row -> assertThat(row).containsExactly(0L, 1L, second));
+        assertThat(aggregator.pendingReviews()).isZero();
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(ReactionAggregator.FLUSH_SQL), anyList());
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(ReactionAggregator.STATS_FLUSH_SQL), anyList());
+        verify(reviewDetailsCache).evictAll(argThat(ids -> ids.containsAll(List.of(first, second))));
+        verify(reviewEntityCache, times(2)).evictAll(argThat(ids -> ids.containsAll(List.of(first, second))));
+    }
+
+    @Test
+    void flush_splitsIntoJdbcBatches() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 100, 2);
+        for (int i = 0; i < 5; i++) {
+            aggregator.record(UUID.randomUUID(), ReviewReactions.Type.LIKE);
+        }
+
+        aggregator.flush();
+
+        assertThat(flushed).hasSize(5);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(ReactionAggregator.FLUSH_SQL), anyList());
+    }
+
+    @Test
+    void record_fullBuffer_flushesOnCallerThread() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 2, 500);
+        aggregator.record(UUID.randomUUID(), ReviewReactions.Type.LIKE);
+        aggregator.record(UUID.randomUUID(), ReviewReactions.Type.LIKE);
+
+        aggregator.record(UUID.randomUUID(), ReviewReactions.Type.LIKE);
+
+        assertThat(flushed).hasSize(2);
+        assertThat(aggregator.pendingReviews()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_failedBatch_keepsDeltasForRetry() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 100, 500);
+        UUID reviewId = UUID.randomUUID();
+        aggregator.record(reviewId, ReviewReactions.Type.LIKE);
+        when(jdbcTemplate.batchUpdate(eq(ReactionAggregator.FLUSH_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        aggregator.flush();
+
+        assertThat(aggregator.pendingCount(reviewId, ReviewReactions.Type.LIKE)).isEqualTo(1);
+    }
+
+    @Test
+    void flush_writesBatchInNewTransaction() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 100, 500);
+        aggregator.record(UUID.randomUUID(), ReviewReactions.Type.LIKE);
+
+        aggregator.flush();
+
+        // Сброс из потока запроса не должен присоединяться к его транзакции
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void scheduledFlush_disabled_doesNothing() {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, false, 100, 500);
+
+        aggregator.scheduledFlush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void concurrentRecordAndFlush_losesNoReactions() throws Exception {
+        ReactionAggregator aggregator = new ReactionAggregator(jdbcTemplate, transactionTemplate, reviewDetailsCache, reviewEntityCache, true, 1000, 50);
+        List<UUID> reviews = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            reviews.add(UUID.randomUUID());
+        }
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService recorders = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (recording.get()) {
+                aggregator.flush();
+            }
+        });
+        for (int t = 0; t < threads; t++) {
+            recorders.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    aggregator.record(reviews.get(i % reviews.size()), ReviewReactions.Type.LIKE);
+                }
+                return null;
+            });
+        }
+
+        flusher.start();
+        start.countDown();
+        recorders.shutdown();
+        assertThat(recorders.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        recording.set(false);
+        flusher.join();
+        aggregator.flushOnShutdown();
+
+        long total = 0;
+        synchronized (flushed) {
+            for (Object[] row : flushed) {
+                total += (long) row[0];
+            }
+        }
+        assertThat(total).isEqualTo((long) threads * perThread);
+    }
+}
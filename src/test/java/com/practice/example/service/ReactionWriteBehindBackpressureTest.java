@@ -0,0 +1,64 @@
+package com.practice.example.service;
+
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.model.Review;
+import com.practice.example.model.ReviewReactions;
+import com.practice.example.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Полный буфер write-behind: addReaction сам сбрасывает его в БД, и пачка падает
+@SpringBootTest(properties = {
+        "review.outbox.relay.enabled=false",
+        "review.reactions.write-behind.enabled=true",
+        "review.reactions.write-behind.max-pending-reviews=1",
+        "review.reactions.write-behind.flush-interval-ms=3600000"
+})
+class ReactionWriteBehindBackpressureTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReactionAggregator reactionAggregator;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void addReaction_failedBackpressureFlush_keepsRequestAndDeltas() {
+        // Arrange
+        UUID orgId = UUID.randomUUID();
+        Review first = reviewService.createReview(UUID.randomUUID(), orgId, "Первый", "Текст", null, 5);
+        Review second = reviewService.createReview(UUID.randomUUID(), orgId, "Второй", "Текст", null, 4);
+        reviewService.addReaction(first.getId(), "LIKE");
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .when(jdbcTemplate).batchUpdate(eq(ReactionAggregator.FLUSH_SQL), anyList());
+
+        // Act: буфер полон, сброс идет в потоке запроса и падает
+        ReviewReactionCounts counts = reviewService.addReaction(second.getId(), "LIKE");
+
+        // Assert: запрос не откатился вместе с пачкой, дельты обоих отзывов остались в буфере
+        assertThat(counts.getLikeCount()).isEqualTo(1);
+        assertThat(reactionAggregator.pendingCount(first.getId(), ReviewReactions.Type.LIKE)).isEqualTo(1);
+        assertThat(reactionAggregator.pendingCount(second.getId(), ReviewReactions.Type.LIKE)).isEqualTo(1);
+
+        reset(jdbcTemplate);
+        reactionAggregator.flush();
+        assertThat(reviewRepository.findById(first.getId())).get().extracting(Review::getLikeCount).isEqualTo(1);
+        assertThat(reviewRepository.findById(second.getId())).get().extracting(Review::getLikeCount).isEqualTo(1);
+    }
+}
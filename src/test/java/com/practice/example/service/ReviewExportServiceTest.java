@@ -0,0 +1,107 @@
+package com.practice.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.repository.EmojiReactionRow;
+import com.practice.example.repository.ReviewEmojiReactionRepository;
+import com.practice.example.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ReviewExportServiceTest {
+
+    private ReviewRepository reviewRepository;
+    private ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+    private ReviewExportService reviewExportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = Mockito.mock(ReviewRepository.class);
+        reviewEmojiReactionRepository = Mockito.mock(ReviewEmojiReactionRepository.class);
+        objectMapper = JsonMapper.builder()
+                .addModule(new Jdk8Module())
+                .addModule(new JavaTimeModule())
+                .build();
+        reviewExportService = new ReviewExportService(reviewRepository, reviewEmojiReactionRepository,
+                new ReviewDetailsProvider(), objectMapper);
+    }
+
+    @Test
+    void exportReviews_writesOneJsonObjectPerLine() throws Exception {
+        ReviewView first = review("First");
+        ReviewView second = review("Second");
+        when(reviewRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = reviewExportService.exportReviews(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(first.getId().toString());
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Second");
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+    }
+
+    @Test
+    void exportReviews_includesEmojiReactionsLoadedPerBatch() throws Exception {
+        ReviewView first = review("First");
+        ReviewView second = review("Second");
+        int heart = "❤".codePointAt(0);
+        when(reviewRepository.streamAll()).thenReturn(Stream.of(first, second));
+        when(reviewEmojiReactionRepository.findRowsByReviewIds(anyCollection()))
+                .thenReturn(List.of(new EmojiReactionRow(second.getId(), heart, 3)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reviewExportService.exportReviews(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(objectMapper.readTree(lines[0]).get("emojiReactions").size()).isZero();
+        assertThat(objectMapper.readTree(lines[1]).get("emojiReactions").get("❤").asInt()).isEqualTo(3);
+        assertThat(objectMapper.readTree(lines[1]).get("reactions").get("EMOJI").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void exportReviews_loadsEmojiReactionsEveryFetchBatch() throws Exception {
+        int total = ReviewRepository.FETCH_SIZE * 2 + 1;
+        when(reviewRepository.streamAll())
+                .thenReturn(IntStream.range(0, total).mapToObj(i -> review("R" + i)));
+
+        long written = reviewExportService.exportReviews(new ByteArrayOutputStream());
+
+        // Первая строка уходит отдельной пачкой, дальше пачки по FETCH_SIZE
+        assertThat(written).isEqualTo(total);
+        verify(reviewEmojiReactionRepository, times(3)).findRowsByReviewIds(anyCollection());
+    }
+
+    @Test
+    void exportReviews_emptyTable_writesNothing() throws Exception {
+        when(reviewRepository.streamAll()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(reviewExportService.exportReviews(out)).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private static ReviewView review(String title) {
+        return new ReviewView(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), title, "C", null,
+                Instant.now(), 4, 1, 0);
+    }
+}
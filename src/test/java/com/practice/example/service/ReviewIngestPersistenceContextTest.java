@@ -0,0 +1,96 @@
+package com.practice.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.infra.id.UuidV7Generator;
+import com.practice.example.infra.outbox.ReviewOutbox;
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Загрузка в запросе под open-in-view: EntityManager привязан к потоку на все время запроса,
+// и каждая пачка-транзакция работает через него. Пачки коммитятся, поэтому без транзакции теста
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewIngestPersistenceContextTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EntityManager requestEntityManager;
+
+    @BeforeEach
+    void openInView() {
+        requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+    }
+
+    @AfterEach
+    void closeView() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        requestEntityManager.close();
+        reviewRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ingest_underOpenInView_keepsOnlyTheCurrentChunkManaged() throws Exception {
+        // Arrange: размер контекста в момент записи outbox каждой пачки
+        ReviewOutbox reviewOutbox = Mockito.mock(ReviewOutbox.class);
+        List<Integer> managedPerChunk = new ArrayList<>();
+        doAnswer(invocation -> managedPerChunk.add(managedEntities())).when(reviewOutbox).reviewsPublished(anyList());
+        ReviewIngestService service = new ReviewIngestService(reviewRepository, new ReviewDetailsProvider(),
+                reviewOutbox, Mockito.mock(OrganizationStatsService.class), new UuidV7Generator(),
+                Mockito.mock(ReviewSearchIndex.class), new TransactionTemplate(transactionManager), new ObjectMapper(),
+                entityManager, 2);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            body.append("{\"authorId\":\"").append(UUID.randomUUID()).append("\",\"organizationId\":\"")
+                    .append(UUID.randomUUID()).append("\",\"title\":\"t").append(i).append("\",\"ratingValue\":4}\n");
+        }
+
+        // Act
+        BulkIngestResult result = service.ingest(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(6);
+        assertThat(managedPerChunk).containsExactly(2, 2, 2);
+        assertThat(managedEntities()).isZero();
+    }
+
+    private int managedEntities() {
+        return requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
@@ -0,0 +1,145 @@
+package com.practice.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.example.dto.BulkIngestFailure;
+import com.practice.example.dto.BulkIngestResult;
+import com.practice.example.infra.id.UuidV7Generator;
+import com.practice.example.infra.outbox.ReviewOutbox;
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.model.Review;
+import com.practice.example.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReviewIngestServiceTest {
+
+    private ReviewRepository reviewRepository;
+    private ReviewOutbox reviewOutbox;
+    private OrganizationStatsService organizationStatsService;
+    private EntityManager entityManager;
+    private ReviewIngestService reviewIngestService;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = Mockito.mock(ReviewRepository.class);
+        reviewOutbox = Mockito.mock(ReviewOutbox.class);
+        organizationStatsService = Mockito.mock(OrganizationStatsService.class);
+        entityManager = Mockito.mock(EntityManager.class);
+        reviewIngestService = new ReviewIngestService(reviewRepository, new ReviewDetailsProvider(), reviewOutbox,
+                organizationStatsService, new UuidV7Generator(), Mockito.mock(ReviewSearchIndex.class),
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), new ObjectMapper(),
+                entityManager, 2);
+    }
+
+    @Test
+    void ingest_ndjson_insertsInChunks() throws IOException {
+        BulkIngestResult result = ingest(item("a", null) + "\n" + item("b", null) + "\n" + item("c", null) + "\n");
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.isComplete()).isTrue();
+        verify(reviewRepository, times(2)).saveAll(anyList());
+        verify(reviewOutbox, times(2)).reviewsPublished(anyList());
+        verify(organizationStatsService, times(2)).reviewsCreated(anyCollection());
+    }
+
+    @Test
+    void ingest_clearsPersistenceContextAfterEveryChunk() throws IOException {
+        ingest(item("a", null) + "\n" + item("b", null) + "\n" + item("c", null) + "\n");
+
+        InOrder order = inOrder(reviewRepository, entityManager);
+        order.verify(reviewRepository).saveAll(anyList());
+        order.verify(entityManager).clear();
+        order.verify(reviewRepository).saveAll(anyList());
+        order.verify(entityManager).clear();
+    }
+
+    @Test
+    void ingest_jsonArray_isStreamedElementByElement() throws IOException {
+        BulkIngestResult result = ingest("[" + item("a", null) + "," + item("b", null) + "]");
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        verify(reviewRepository, times(1)).saveAll(argThat(reviews -> ((Collection<?>) reviews).size() == 2));
+    }
+
+    @Test
+    void ingest_missingParents_checkedWithOneLookupPerChunk() throws IOException {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(reviewRepository.findExistingIds(anyCollection())).thenReturn(List.of(existing));
+        when(reviewRepository.getReferenceById(existing)).thenReturn(new Review());
+
+        BulkIngestResult result = ingest(item("a", existing) + "\n" + item("b", missing));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailures()).extracting(BulkIngestFailure::getIndex).containsExactly(1);
+        assertThat(result.getFailures().get(0).getError()).contains("Parent review not found");
+        verify(reviewRepository, times(1)).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void ingest_invalidItems_areReportedAndSkipped() throws IOException {
+        BulkIngestResult result = ingest("{\"title\":\"no ids\",\"ratingValue\":1}\n"
+                + "{\"title\":\"t\",\"ratingValue\":\"x\"}\n"
+                + item("ok", null));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getFailures()).extracting(BulkIngestFailure::getIndex).containsExactly(0, 1);
+    }
+
+    @Test
+    void ingest_failedChunk_isRetriedItemByItem() throws IOException {
+        when(reviewRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Review> reviews = invocation.getArgument(0);
+            if (reviews.size() > 1 || reviews.get(0).getTitle().equals("bad")) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            return reviews;
+        });
+
+        BulkIngestResult result = ingest(item("good", null) + "\n" + item("bad", null));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailures()).extracting(BulkIngestFailure::getIndex).containsExactly(1);
+        verify(reviewRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void ingest_malformedJson_keepsWhatWasReadAndStops() throws IOException {
+        BulkIngestResult result = ingest(item("a", null) + "\n{broken");
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getFailures()).extracting(BulkIngestFailure::getIndex).containsExactly(1);
+    }
+
+    private BulkIngestResult ingest(String body) throws IOException {
+        return reviewIngestService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String item(String title, UUID parentId) {
+        return "{\"authorId\":\"" + UUID.randomUUID() + "\",\"organizationId\":\"" + UUID.randomUUID()
+                + "\",\"title\":\"" + title + "\",\"ratingValue\":4"
+                + (parentId == null ? "" : ",\"parentReviewId\":\"" + parentId + "\"") + "}";
+    }
+}
@@ -1,21 +1,42 @@
 package com.practice.example.service;
 
-import com.practice.example.infra.kafka.ReviewKafkaProducer;
+import com.practice.example.dto.ReviewCursor;
+import com.practice.example.dto.ReviewHelpfulness;
+import com.practice.example.dto.ReviewPage;
+import com.practice.example.dto.ReviewReactionCounts;
+import com.practice.example.dto.ReviewSearchCursor;
+import com.practice.example.dto.ReviewThread;
+import com.practice.example.dto.ReviewThreadNode;
+import com.practice.example.dto.ReviewView;
+import com.practice.example.infra.id.RandomUuidGenerator;
+import com.practice.example.infra.outbox.ReviewOutbox;
+import com.practice.example.infra.search.ReviewSearchIndex;
+import com.practice.example.infra.search.SearchHit;
+import com.practice.example.model.EmojiReactionCounts;
 import com.practice.example.model.Review;
 import com.practice.example.model.ReviewDetails;
+import com.practice.example.model.ReviewReactions;
+import com.practice.example.repository.EmojiReactionRow;
+import com.practice.example.repository.ReviewEmojiReactionRepository;
+import com.practice.example.repository.ReviewFilter;
 import com.practice.example.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class ReviewServiceTest {
@@ -23,14 +44,31 @@ class ReviewServiceTest {
     private ReviewRepository reviewRepository;
     private ReviewService reviewService;
     private ReviewDetailsProvider reviewDetailsProvider;
-    private ReviewKafkaProducer reviewKafkaProducer;
+    private ReviewOutbox reviewOutbox;
+    private ReactionAggregator reactionAggregator;
+    private ReviewEmojiReactionRepository reviewEmojiReactionRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private OrganizationStatsService organizationStatsService;
+    private ReviewSearchIndex reviewSearchIndex;
+    private HelpfulReviewRanking helpfulReviewRanking;
+    private ReviewEntityCache reviewEntityCache;
 
     @BeforeEach
     void setUp() {
         reviewRepository = Mockito.mock(ReviewRepository.class);
         reviewDetailsProvider = Mockito.mock(ReviewDetailsProvider.class);
-        reviewKafkaProducer = Mockito.mock(ReviewKafkaProducer.class);
-        reviewService = new ReviewService(reviewRepository, reviewDetailsProvider, reviewKafkaProducer);
+        reviewOutbox = Mockito.mock(ReviewOutbox.class);
+        reactionAggregator = Mockito.mock(ReactionAggregator.class);
+        reviewEmojiReactionRepository = Mockito.mock(ReviewEmojiReactionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        organizationStatsService = Mockito.mock(OrganizationStatsService.class);
+        reviewSearchIndex = Mockito.mock(ReviewSearchIndex.class);
+        helpfulReviewRanking = Mockito.mock(HelpfulReviewRanking.class);
+        reviewEntityCache = Mockito.mock(ReviewEntityCache.class);
+        reviewService = new ReviewService(reviewRepository, reviewDetailsProvider, reviewOutbox,
+                reactionAggregator, reviewEmojiReactionRepository, new ReviewDetailsCache(meterRegistry, 100, 60_000),
+                organizationStatsService, new RandomUuidGenerator(), reviewSearchIndex,
+                helpfulReviewRanking, reviewEntityCache);
     }
 
     @Test
@@ -72,13 +110,14 @@ class ReviewServiceTest {
 
         verify(reviewRepository, times(1)).save(saved);
         verify(reviewDetailsProvider, times(1)).getDetailsTo(saved);
-        verify(reviewKafkaProducer, times(1)).sendReviewPublished(any());
+        verify(reviewOutbox, times(1)).reviewPublished(any());
+        verify(organizationStatsService).reviewCreated(orgId, ratingValue);
     }
 
     @Test
     void createReview_withNonexistentParent_throwsException() {
         UUID parentId = UUID.randomUUID();
-        when(reviewRepository.findById(parentId)).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(parentId)).thenReturn(false);
 
         assertThatThrownBy(() -> reviewService.createReview(
                 UUID.randomUUID(),
@@ -91,6 +130,7 @@ class ReviewServiceTest {
                 .hasMessageContaining("Parent review not found");
 
         verify(reviewRepository, never()).save(any());
+        verify(reviewOutbox, never()).reviewPublished(any());
     }
 
     @Test
@@ -110,7 +150,8 @@ class ReviewServiceTest {
                 .dislikeCount(0)
                 .build();
 
-        when(reviewRepository.findById(parentId)).thenReturn(Optional.of(parent));
+        when(reviewRepository.existsById(parentId)).thenReturn(true);
+        when(reviewRepository.getReferenceById(parentId)).thenReturn(parent);
         when(reviewRepository.save(any(Review.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -128,120 +169,513 @@ class ReviewServiceTest {
         verify(reviewRepository, times(1)).save(child);
     }
 
+    @Test
+    void createReview_replyToCachedParent_skipsDatabaseCheck() {
+        Review parent = review(UUID.randomUUID());
+        when(reviewRepository.findViewById(parent.getId())).thenReturn(Optional.of(viewOf(parent)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenReturn(detailsOf(parent));
+        when(reviewRepository.getReferenceById(parent.getId())).thenReturn(parent);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        reviewService.getReview(parent.getId());
+
+        for (int i = 0; i < 3; i++) {
+            reviewService.createReview(UUID.randomUUID(), parent.getOrganizationId(), "Reply", "R", parent.getId(), 3);
+        }
+
+        verify(reviewRepository, times(1)).findViewById(parent.getId());
+        verify(reviewRepository, never()).findById(any());
+    }
+
+    @Test
+    void createReview_cachedParentDeletedMeanwhile_throwsNoSuchElementAndEvicts() {
+        Review parent = review(UUID.randomUUID());
+        when(reviewRepository.findViewById(parent.getId())).thenReturn(Optional.of(viewOf(parent)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenReturn(detailsOf(parent));
+        when(reviewRepository.getReferenceById(parent.getId())).thenReturn(parent);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_reviews_parent_review_id"));
+        when(reviewRepository.existsByIdInNewTransaction(parent.getId())).thenReturn(false);
+        reviewService.getReview(parent.getId());
+
+        assertThatThrownBy(() -> reviewService.createReview(UUID.randomUUID(), parent.getOrganizationId(),
+                "Reply", "R", parent.getId(), 3))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("Parent review not found");
+
+        verify(reviewOutbox, never()).reviewPublished(any());
+        reviewService.getReview(parent.getId());
+        verify(reviewRepository, times(2)).findViewById(parent.getId());
+    }
+
+    @Test
+    void createReview_cachedParentOtherViolation_rethrowsAndKeepsCache() {
+        Review parent = review(UUID.randomUUID());
+        when(reviewRepository.findViewById(parent.getId())).thenReturn(Optional.of(viewOf(parent)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenReturn(detailsOf(parent));
+        when(reviewRepository.getReferenceById(parent.getId())).thenReturn(parent);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("NULL not allowed for column TITLE");
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(violation);
+        when(reviewRepository.existsByIdInNewTransaction(parent.getId())).thenReturn(true);
+        reviewService.getReview(parent.getId());
+
+        assertThatThrownBy(() -> reviewService.createReview(UUID.randomUUID(), parent.getOrganizationId(),
+                null, "R", parent.getId(), 3))
+                .isSameAs(violation);
+
+        // Родитель на месте: кэш не сбрасывается
+        reviewService.getReview(parent.getId());
+        verify(reviewRepository, times(1)).findViewById(parent.getId());
+    }
+
+    @Test
+    void createReview_replyToUncachedParent_checksParentExistsWithoutLoading() {
+        Review parent = review(UUID.randomUUID());
+        when(reviewRepository.existsById(parent.getId())).thenReturn(true);
+        when(reviewRepository.getReferenceById(parent.getId())).thenReturn(parent);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reviewService.createReview(UUID.randomUUID(), parent.getOrganizationId(), "Reply", "R", parent.getId(), 3);
+
+        verify(reviewRepository, times(1)).existsById(parent.getId());
+        verify(reviewRepository, never()).findById(any());
+        verify(reviewRepository, never()).findViewById(any());
+    }
+
+    @Test
+    void createReview_replyToUncachedParentWithSecondLevelCache_loadsParentByPrimaryKey() {
+        Review parent = review(UUID.randomUUID());
+        when(reviewEntityCache.isEnabled()).thenReturn(true);
+        when(reviewRepository.findById(parent.getId())).thenReturn(Optional.of(parent));
+        when(reviewRepository.getReferenceById(parent.getId())).thenReturn(parent);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reviewService.createReview(UUID.randomUUID(), parent.getOrganizationId(), "Reply", "R", parent.getId(), 3);
+
+        verify(reviewRepository, times(1)).findById(parent.getId());
+        verify(reviewRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getReview_secondRead_isServedFromCache() {
+        Review review = review(UUID.randomUUID());
+        ReviewDetails details = detailsOf(review);
+        when(reviewRepository.findViewById(review.getId())).thenReturn(Optional.of(viewOf(review)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenReturn(details);
+
+        assertThat(reviewService.getReview(review.getId())).isSameAs(details);
+        assertThat(reviewService.getReview(review.getId())).isSameAs(details);
+
+        verify(reviewRepository, times(1)).findViewById(review.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "review.details").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getReview_afterReactionOrDelete_isReloaded() {
+        Review review = review(UUID.randomUUID());
+        when(reviewRepository.findViewById(review.getId())).thenReturn(Optional.of(viewOf(review)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenAnswer(invocation -> detailsOf(review));
+        when(reviewRepository.incrementReactions(review.getId(), 1, 0)).thenReturn(1);
+        when(reviewRepository.findHelpfulnessById(review.getId()))
+                .thenReturn(Optional.of(helpfulnessOf(review.getId(), 1, 0)));
+        when(reviewRepository.findByIdForUpdate(review.getId())).thenReturn(Optional.of(review));
+
+        reviewService.getReview(review.getId());
+        reviewService.addReaction(review.getId(), "LIKE");
+        reviewService.getReview(review.getId());
+        reviewService.deleteReview(review.getId());
+        when(reviewRepository.findViewById(review.getId())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reviewService.getReview(review.getId()))
+                .isInstanceOf(NoSuchElementException.class);
+        verify(reviewRepository, times(3)).findViewById(review.getId());
+    }
+
+    @Test
+    void getReview_writeBehind_addsPendingReactionsToCopy() {
+        Review review = review(UUID.randomUUID());
+        ReviewDetails details = detailsOf(review);
+        details.addReaction(ReviewReactions.Type.LIKE, 5);
+        when(reviewRepository.findViewById(review.getId())).thenReturn(Optional.of(viewOf(review)));
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any())).thenReturn(details);
+        when(reactionAggregator.isEnabled()).thenReturn(true);
+        when(reactionAggregator.pendingCount(review.getId(), ReviewReactions.Type.LIKE)).thenReturn(2L);
+
+        ReviewDetails result = reviewService.getReview(review.getId());
+
+        assertThat(result.getReactions().get(ReviewReactions.Type.LIKE)).isEqualTo(7);
+        assertThat(details.getReactions().get(ReviewReactions.Type.LIKE)).isEqualTo(5);
+    }
+
     @Test
     void addReaction_like_incrementsLikeCount() {
         UUID reviewId = UUID.randomUUID();
-        Review existing = Review.builder()
-                .id(reviewId)
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("T")
-                .content("C")
-                .publishedAt(Instant.now())
-                .ratingValue(1)
-                .likeCount(0)
-                .dislikeCount(0)
-                .build();
+        when(reviewRepository.incrementReactions(reviewId, 1, 0)).thenReturn(1);
+        ReviewHelpfulness helpfulness = helpfulnessOf(reviewId, 1, 0);
+        when(reviewRepository.findHelpfulnessById(reviewId)).thenReturn(Optional.of(helpfulness));
 
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existing));
-        when(reviewRepository.save(any(Review.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        Review updated = reviewService.addReaction(reviewId, "LIKE");
+        ReviewReactionCounts updated = reviewService.addReaction(reviewId, "LIKE");
 
         assertThat(updated.getLikeCount()).isEqualTo(1);
         assertThat(updated.getDislikeCount()).isZero();
-        verify(reviewRepository, times(1)).save(updated);
-        verify(reviewKafkaProducer, never()).sendReviewPublished(any());
+        verify(reviewRepository, times(1)).incrementReactions(reviewId, 1, 0);
+        verify(reviewEntityCache).evictAroundCommit(reviewId);
+        verify(organizationStatsService, times(1)).reactionsAdded(reviewId, 1, 0);
+        verify(helpfulReviewRanking).updateAfterCommit(helpfulness);
+        verify(reviewRepository, never()).findViewById(any());
+        verify(reviewRepository, never()).save(any());
+        verify(reviewOutbox, never()).reviewPublished(any());
     }
 
     @Test
     void addReaction_dislike_incrementsDislikeCount() {
         UUID reviewId = UUID.randomUUID();
-        Review existing = Review.builder()
-                .id(reviewId)
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("T")
-                .content("C")
-                .publishedAt(Instant.now())
-                .ratingValue(1)
-                .likeCount(0)
-                .dislikeCount(0)
-                .build();
+        when(reviewRepository.incrementReactions(reviewId, 0, 1)).thenReturn(1);
+        when(reviewRepository.findHelpfulnessById(reviewId)).thenReturn(Optional.of(helpfulnessOf(reviewId, 0, 1)));
 
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existing));
-        when(reviewRepository.save(any(Review.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        Review updated = reviewService.addReaction(reviewId, "DISLIKE");
+        ReviewReactionCounts updated = reviewService.addReaction(reviewId, "dislike");
 
         assertThat(updated.getDislikeCount()).isEqualTo(1);
         assertThat(updated.getLikeCount()).isZero();
-        verify(reviewRepository, times(1)).save(updated);
+        verify(reviewRepository, times(1)).incrementReactions(reviewId, 0, 1);
+        verify(reviewRepository, never()).save(any());
     }
 
     @Test
     void addReaction_unknownType_throwsIllegalArgument() {
         UUID reviewId = UUID.randomUUID();
-        Review existing = Review.builder()
-                .id(reviewId)
-                .authorId(UUID.randomUUID())
-                .organizationId(UUID.randomUUID())
-                .title("T")
-                .content("C")
-                .publishedAt(Instant.now())
-                .ratingValue(1)
-                .likeCount(0)
-                .dislikeCount(0)
-                .build();
-
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existing));
 
         assertThatThrownBy(() -> reviewService.addReaction(reviewId, "UNKNOWN"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Unknown reaction");
-        verify(reviewRepository, never()).save(any());
+        verify(reviewRepository, never()).incrementReactions(any(), anyInt(), anyInt());
     }
 
     @Test
     void addReaction_nonexistentId_throwsNoSuchElement() {
         UUID missingId = UUID.randomUUID();
-        when(reviewRepository.findById(missingId)).thenReturn(Optional.empty());
+        when(reviewRepository.incrementReactions(missingId, 1, 0)).thenReturn(0);
 
         assertThatThrownBy(() -> reviewService.addReaction(missingId, "LIKE"))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Review not found");
-        verify(reviewRepository, never()).save(any());
+        verify(reviewRepository, never()).findHelpfulnessById(any());
+        verifyNoInteractions(helpfulReviewRanking);
+    }
+
+    @Test
+    void addReaction_emoji_upsertsCounterAndReturnsBreakdown() {
+        UUID reviewId = UUID.randomUUID();
+        int thumbsUp = "👍".codePointAt(0);
+        List<EmojiReactionRow> rows = List.of(new EmojiReactionRow(reviewId, thumbsUp, 4));
+        EmojiReactionCounts emoji = EmojiReactionCounts.of(new int[]{thumbsUp}, new int[]{4});
+        when(reviewRepository.findReactionCountsById(reviewId))
+                .thenReturn(Optional.of(new ReviewReactionCounts(reviewId, 2, 1)));
+        when(reviewEmojiReactionRepository.findRowsByReviewId(reviewId)).thenReturn(rows);
+        when(reviewDetailsProvider.toEmojiReactionCounts(rows)).thenReturn(emoji);
+
+        ReviewReactionCounts counts = reviewService.addReaction(reviewId, "👍");
+
+        assertThat(counts.getLikeCount()).isEqualTo(2);
+        assertThat(counts.getEmoji().get(thumbsUp)).isEqualTo(4);
+        verify(reviewEmojiReactionRepository, times(1)).increment(reviewId, thumbsUp, 1);
+        verify(reviewRepository, never()).incrementReactions(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void addReaction_emojiOnMissingReview_throwsNoSuchElement() {
+        UUID missingId = UUID.randomUUID();
+        when(reviewRepository.findReactionCountsById(missingId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reviewService.addReaction(missingId, "🔥"))
+                .isInstanceOf(NoSuchElementException.class);
+        verify(reviewEmojiReactionRepository, never()).increment(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void addReaction_writeBehind_buffersInsteadOfUpdating() {
+        UUID reviewId = UUID.randomUUID();
+        when(reactionAggregator.isEnabled()).thenReturn(true);
+        when(reviewRepository.findHelpfulnessById(reviewId)).thenReturn(Optional.of(helpfulnessOf(reviewId, 10, 2)));
+        when(reactionAggregator.pendingCount(reviewId, ReviewReactions.Type.LIKE)).thenReturn(3L);
+
+        ReviewReactionCounts counts = reviewService.addReaction(reviewId, "LIKE");
+
+        // 10 сохраненных, 3 в буфере и сама реакция
+        assertThat(counts.getLikeCount()).isEqualTo(14);
+        assertThat(counts.getDislikeCount()).isEqualTo(2);
+        verify(reactionAggregator, times(1)).record(reviewId, ReviewReactions.Type.LIKE);
+        verify(reviewRepository, never()).incrementReactions(any(), anyInt(), anyInt());
+        // В рейтинг уходят счетчики с учетом еще не сброшенных реакций
+        ArgumentCaptor<ReviewHelpfulness> ranked = ArgumentCaptor.forClass(ReviewHelpfulness.class);
+        verify(helpfulReviewRanking).updateAfterCommit(ranked.capture());
+        assertThat(ranked.getValue().getLikeCount()).isEqualTo(14);
     }
 
     @Test
-    void deleteReview_existing_removesEntity() {
+    void addReaction_writeBehind_recordsOnlyAfterCommit() {
         UUID reviewId = UUID.randomUUID();
-        when(reviewRepository.existsById(reviewId)).thenReturn(true);
-        doNothing().when(reviewRepository).deleteById(reviewId);
+        when(reactionAggregator.isEnabled()).thenReturn(true);
+        when(reviewRepository.findHelpfulnessById(reviewId)).thenReturn(Optional.of(helpfulnessOf(reviewId, 10, 2)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reviewService.addReaction(reviewId, "DISLIKE");
+            verify(reactionAggregator, never()).record(any(), any());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            verify(reactionAggregator, times(1)).record(reviewId, ReviewReactions.Type.DISLIKE);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 
-        reviewService.deleteReview(reviewId);
+    @Test
+    void addReaction_writeBehind_nonexistentId_throwsNoSuchElement() {
+        UUID missingId = UUID.randomUUID();
+        when(reactionAggregator.isEnabled()).thenReturn(true);
+        when(reviewRepository.findHelpfulnessById(missingId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reviewService.addReaction(missingId, "DISLIKE"))
+                .isInstanceOf(NoSuchElementException.class);
+        verify(reactionAggregator, never()).record(any(), any());
+    }
 
-        verify(reviewRepository, times(1)).deleteById(reviewId);
+    @Test
+    void deleteReview_existing_removesEntityAndUpdatesStats() {
+        Review review = review(UUID.randomUUID());
+        review.setLikeCount(3);
+        review.setDislikeCount(1);
+        when(reviewRepository.findByIdForUpdate(review.getId())).thenReturn(Optional.of(review));
+
+        reviewService.deleteReview(review.getId());
+
+        verify(reviewRepository, times(1)).delete(review);
+        verify(organizationStatsService).reviewDeleted(review);
+        verify(reviewSearchIndex).removeAfterCommit(review.getId());
+        verify(helpfulReviewRanking).removeAfterCommit(review.getOrganizationId(), review.getId());
     }
 
     @Test
     void deleteReview_nonexistent_throwsNoSuchElement() {
         UUID missingId = UUID.randomUUID();
-        when(reviewRepository.existsById(missingId)).thenReturn(false);
+        when(reviewRepository.findByIdForUpdate(missingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> reviewService.deleteReview(missingId))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Review not found");
-        verify(reviewRepository, never()).deleteById(any());
+        verify(reviewRepository, never()).delete(any());
+        verifyNoInteractions(organizationStatsService);
     }
 
     @Test
-    void getAllReviews_delegatesToRepository() {
-        when(reviewRepository.findAll()).thenReturn(java.util.List.of());
-        var list = reviewService.getAllReviews();
-        assertThat(list).isEmpty();
-        verify(reviewRepository, times(1)).findAll();
+    void getReviews_lastPage_hasNoCursor() {
+        when(reviewRepository.findPage(any(ReviewFilter.class), isNull(), eq(21), eq(false)))
+                .thenReturn(List.of());
+
+        ReviewPage<ReviewView> page = reviewService.getReviews(null, null, null, null, 20, false);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getReviews_morePages_returnsCursorOfLastItem() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView first = viewOf(Review.builder()
+                .id(UUID.randomUUID())
+                .organizationId(orgId)
+                .publishedAt(Instant.parse("2024-01-02T00:00:00Z"))
+                .build());
+        ReviewView second = viewOf(Review.builder()
+                .id(UUID.randomUUID())
+                .organizationId(orgId)
+                .publishedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .build());
+        when(reviewRepository.findPage(any(ReviewFilter.class), isNull(), eq(2), eq(true)))
+                .thenReturn(List.of(first, second));
+
+        ReviewPage<ReviewView> page = reviewService.getReviews(orgId, null, null, null, 1, true);
+
+        assertThat(page.getItems()).containsExactly(first);
+        ReviewCursor cursor = ReviewCursor.decode(page.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(first.getId());
+        assertThat(cursor.getPublishedAt()).isEqualTo(first.getPublishedAt());
+
+        ArgumentCaptor<ReviewFilter> filter = ArgumentCaptor.forClass(ReviewFilter.class);
+        verify(reviewRepository).findPage(filter.capture(), isNull(), eq(2), eq(true));
+        assertThat(filter.getValue().getOrganizationId()).isEqualTo(orgId);
+    }
+
+    @Test
+    void getReviews_limitIsCappedAndCursorPassedThrough() {
+        ReviewCursor after = new ReviewCursor(Instant.parse("2024-01-01T00:00:00Z"), UUID.randomUUID());
+        when(reviewRepository.findPage(any(ReviewFilter.class), any(ReviewCursor.class), anyInt(), anyBoolean()))
+                .thenReturn(List.of());
+
+        reviewService.getReviews(null, null, null, after.encode(), 10_000, false);
+
+        ArgumentCaptor<ReviewCursor> cursor = ArgumentCaptor.forClass(ReviewCursor.class);
+        verify(reviewRepository).findPage(any(ReviewFilter.class), cursor.capture(),
+                eq(ReviewService.MAX_PAGE_SIZE + 1), eq(false));
+        assertThat(cursor.getValue().getId()).isEqualTo(after.getId());
+    }
+
+    @Test
+    void getReviews_malformedCursor_throwsIllegalArgument() {
+        assertThatThrownBy(() -> reviewService.getReviews(null, null, null, "not-a-cursor", 20, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(reviewRepository, never()).findPage(any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void search_keepsIndexOrderAndSkipsDeletedReviews() {
+        ReviewView best = viewOf(review(UUID.randomUUID()));
+        ReviewView second = viewOf(review(UUID.randomUUID()));
+        UUID deleted = UUID.randomUUID();
+        when(reviewSearchIndex.search(eq("coffee"), isNull(), isNull(), eq(4))).thenReturn(List.of(
+                new SearchHit(best.getId(), 3.5f), new SearchHit(deleted, 2f), new SearchHit(second.getId(), 1f)));
+        when(reviewRepository.findPreviewsByIds(anyCollection())).thenReturn(List.of(second, best));
+
+        ReviewPage<ReviewView> page = reviewService.search("coffee", null, null, 3);
+
+        assertThat(page.getItems()).containsExactly(best, second);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void search_morePages_returnsCursorOfLastHit() {
+        UUID orgId = UUID.randomUUID();
+        ReviewView first = viewOf(review(UUID.randomUUID()));
+        when(reviewSearchIndex.search(eq("coffee"), eq(orgId), isNull(), eq(2))).thenReturn(List.of(
+                new SearchHit(first.getId(), 2.25f), new SearchHit(UUID.randomUUID(), 1f)));
+        when(reviewRepository.findPreviewsByIds(List.of(first.getId()))).thenReturn(List.of(first));
+
+        ReviewPage<ReviewView> page = reviewService.search("coffee", orgId, null, 1);
+
+        assertThat(page.getItems()).containsExactly(first);
+        ReviewSearchCursor cursor = ReviewSearchCursor.decode(page.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(first.getId());
+        assertThat(cursor.getScore()).isEqualTo(2.25f);
+
+        reviewService.search("coffee", orgId, page.getNextCursor(), 1);
+        verify(reviewSearchIndex).search(eq("coffee"), eq(orgId), eq(new SearchHit(first.getId(), 2.25f)), eq(2));
+    }
+
+    @Test
+    void search_blankQuery_throwsIllegalArgument() {
+        assertThatThrownBy(() -> reviewService.search("  ", null, null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(reviewSearchIndex);
+    }
+
+    @Test
+    void getThread_assemblesTreeFromFlatRows() {
+        Review root = review(UUID.randomUUID());
+        Review first = reply(root);
+        Review second = reply(root);
+        Review nested = reply(first);
+        when(reviewRepository.findThread(root.getId(), ReviewService.MAX_THREAD_DEPTH + 1, 11))
+                .thenReturn(List.of(viewOf(root), viewOf(first), viewOf(second), viewOf(nested)));
+        when(reviewEmojiReactionRepository.findRowsByReviewIds(any())).thenReturn(List.of());
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any()))
+                .thenAnswer(invocation -> detailsOf(invocation.<ReviewView>getArgument(0)));
+
+        ReviewThread thread = reviewService.getThread(root.getId(), 100, 10);
+
+        assertThat(thread.getSize()).isEqualTo(4);
+        assertThat(thread.isTruncated()).isFalse();
+        ReviewThreadNode rootNode = thread.getRoot();
+        assertThat(rootNode.getReview().getId()).isEqualTo(root.getId());
+        assertThat(rootNode.getReplies()).extracting(node -> node.getReview().getId())
+                .containsExactly(first.getId(), second.getId());
+        assertThat(rootNode.getReplies().get(0).getReplies()).extracting(node -> node.getReview().getId())
+                .containsExactly(nested.getId());
+        verify(reviewEmojiReactionRepository, times(1)).findRowsByReviewIds(any());
+        verify(reviewRepository, never()).findViewById(any());
+    }
+
+    @Test
+    void getThread_overLimit_isTruncated() {
+        Review root = review(UUID.randomUUID());
+        Review first = reply(root);
+        Review second = reply(root);
+        when(reviewRepository.findThread(root.getId(), 6, 3)).thenReturn(List.of(viewOf(root), viewOf(first), viewOf(second)));
+        when(reviewEmojiReactionRepository.findRowsByReviewIds(any())).thenReturn(List.of());
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any()))
+                .thenAnswer(invocation -> detailsOf(invocation.<ReviewView>getArgument(0)));
+
+        ReviewThread thread = reviewService.getThread(root.getId(), 5, 2);
+
+        assertThat(thread.getSize()).isEqualTo(2);
+        assertThat(thread.isTruncated()).isTrue();
+        assertThat(thread.getRoot().getReplies()).hasSize(1);
+    }
+
+    @Test
+    void getThread_repliesBelowMaxDepth_areDroppedAndFlagged() {
+        Review root = review(UUID.randomUUID());
+        Review first = reply(root);
+        Review nested = reply(first);
+        when(reviewRepository.findThread(root.getId(), 2, 11))
+                .thenReturn(List.of(viewOf(root), viewOf(first), viewOf(nested)));
+        when(reviewEmojiReactionRepository.findRowsByReviewIds(any())).thenReturn(List.of());
+        when(reviewDetailsProvider.getDetailsTo(any(ReviewView.class), any()))
+                .thenAnswer(invocation -> detailsOf(invocation.<ReviewView>getArgument(0)));
+
+        ReviewThread thread = reviewService.getThread(root.getId(), 1, 10);
+
+        assertThat(thread.getSize()).isEqualTo(2);
+        assertThat(thread.isTruncated()).isTrue();
+        assertThat(thread.getRoot().getReplies()).singleElement()
+                .satisfies(node -> assertThat(node.getReplies()).isEmpty());
+    }
+
+    @Test
+    void getThread_missingRoot_throwsNoSuchElement() {
+        UUID missingId = UUID.randomUUID();
+        when(reviewRepository.findThread(eq(missingId), anyInt(), anyInt())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> reviewService.getThread(missingId, 10, 10))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static Review reply(Review parent) {
+        Review reply = review(UUID.randomUUID());
+        reply.setParentReview(parent);
+        return reply;
+    }
+
+    private static Review review(UUID id) {
+        return Review.builder()
+                .id(id)
+                .authorId(UUID.randomUUID())
+                .organizationId(UUID.randomUUID())
+                .title("Parent")
+                .content("P")
+                .publishedAt(Instant.now())
+                .ratingValue(4)
+                .likeCount(0)
+                .dislikeCount(0)
+                .build();
+    }
+
+    private static ReviewHelpfulness helpfulnessOf(UUID reviewId, int likes, int dislikes) {
+        return new ReviewHelpfulness(reviewId, UUID.randomUUID(), Instant.now(), likes, dislikes);
+    }
+
+    private static ReviewView viewOf(Review review) {
+        return new ReviewView(review.getId(), review.getAuthorId(), review.getOrganizationId(), review.getTitle(),
+                review.getContent(), review.getParentReviewId(), review.getPublishedAt(), review.getRatingValue(),
+                review.getLikeCount(), review.getDislikeCount());
+    }
+
+    private static ReviewDetails detailsOf(ReviewView review) {
+        return new ReviewDetails(review.getId(), review.getAuthorId(), review.getOrganizationId(), review.getTitle(),
+                review.getContent(), Optional.empty(), review.getPublishedAt());
+    }
+
+    private static ReviewDetails detailsOf(Review review) {
+        return new ReviewDetails(review.getId(), review.getAuthorId(), review.getOrganizationId(), review.getTitle(),
+                review.getContent(), Optional.empty(), review.getPublishedAt());
     }
 }